@@ -60,19 +60,18 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		return instance();
 	}
 
-	List<Execution<CommandSender, Argument>> getExecutions() {
-		List<Execution<CommandSender, Argument>> executions = new ArrayList<>();
+	// Adds the executions of this branch to executions. The same list of previous
+	// arguments is used for the whole tree, so it is only copied for each execution
+	void collectExecutions(List<Argument> previousArguments, List<Execution<CommandSender, Argument>> executions) {
+		previousArguments.add(this.argument);
 		// If this is executable, add its execution
 		if (this.executor.hasAnyExecutors()) {
-			executions.add(new Execution<>(List.of(this.argument), this.executor));
+			executions.add(new Execution<>(List.copyOf(previousArguments), this.executor));
 		}
 		// Add all executions from all arguments
 		for (AbstractArgumentTree<?, Argument, CommandSender> tree : arguments) {
-			for (Execution<CommandSender, Argument> execution : tree.getExecutions()) {
-				// Prepend this argument to the arguments of the executions
-				executions.add(execution.prependedBy(this.argument));
-			}
+			tree.collectExecutions(previousArguments, executions);
 		}
-		return executions;
+		previousArguments.remove(previousArguments.size() - 1);
 	}
 }
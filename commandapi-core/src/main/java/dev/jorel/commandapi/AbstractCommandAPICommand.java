@@ -276,20 +276,12 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			CommandAPI.logWarning("Command /" + meta.commandName + " is being registered after the server had loaded. Undefined behavior ahead!");
 		}
 
-		@SuppressWarnings("unchecked")
-		Argument[] argumentsArray = (Argument[]) (arguments == null ? new AbstractArgument[0] : arguments.toArray(AbstractArgument[]::new));
+		Argument[] argumentsArray = getArgumentsArray();
 
 		// Check GreedyArgument constraints
 		checkGreedyArgumentConstraints(argumentsArray);
 		checkHasExecutors();
-		
-		// Assign the command's permissions to arguments if the arguments don't already
-		// have one
-		for (Argument argument : argumentsArray) {
-			if (argument.getArgumentPermission() == null) {
-				argument.withPermission(meta.permission);
-			}
-		}
+		assignArgumentPermissions(argumentsArray);
 
 		if (executor.hasAnyExecutors()) {
 			// Need to cast handler to the right CommandSender type so that argumentsArray and executor are accepted
@@ -308,6 +300,35 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		}
 	}
 	
+	/**
+	 * Checks this command's arguments and expands its optional arguments, without
+	 * registering anything. This is used to register the paths through a command
+	 * tree all at once.
+	 *
+	 * @return every array of arguments that this command would be registered with
+	 */
+	List<Argument[]> getArgumentsToRegister() {
+		Argument[] argumentsArray = getArgumentsArray();
+		checkGreedyArgumentConstraints(argumentsArray);
+		assignArgumentPermissions(argumentsArray);
+		return getArgumentsToRegister(argumentsArray);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Argument[] getArgumentsArray() {
+		return (Argument[]) (arguments == null ? new AbstractArgument[0] : arguments.toArray(AbstractArgument[]::new));
+	}
+
+	// Assign the command's permissions to arguments if the arguments don't already
+	// have one
+	private void assignArgumentPermissions(Argument[] argumentsArray) {
+		for (Argument argument : argumentsArray) {
+			if (argument.getArgumentPermission() == null) {
+				argument.withPermission(meta.permission);
+			}
+		}
+	}
+
 	// Checks that greedy arguments don't have any other arguments at the end,
 	// and only zero or one greedy argument is present in an array of arguments
 	private void checkGreedyArgumentConstraints(Argument[] argumentsArray) {
@@ -1,6 +1,7 @@
 package dev.jorel.commandapi;
 
 import dev.jorel.commandapi.arguments.AbstractArgument;
+import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,15 +48,33 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 * Registers the command
 	 */
 	public void register() {
+		if (!CommandAPI.canRegister()) {
+			CommandAPI.logWarning("Command /" + meta.commandName + " is being registered after the server had loaded. Undefined behavior ahead!");
+		}
+
 		List<Execution<CommandSender, Argument>> executions = new ArrayList<>();
 		if (this.executor.hasAnyExecutors()) {
 			executions.add(new Execution<>(List.<Argument>of(), this.executor));
 		}
+		List<Argument> previousArguments = new ArrayList<>();
 		for (AbstractArgumentTree<?, Argument, CommandSender> tree : arguments) {
-			executions.addAll(tree.getExecutions());
+			tree.collectExecutions(previousArguments, executions);
 		}
+
+		// Check every path first, so nothing is registered if any of them are invalid
+		List<Argument[]> argumentPaths = new ArrayList<>();
+		List<CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>>> executors = new ArrayList<>();
 		for (Execution<CommandSender, Argument> execution : executions) {
-			execution.register(this.meta);
+			for (Argument[] args : execution.getArgumentsToRegister(this.meta)) {
+				argumentPaths.add(args);
+				executors.add(execution.getExecutor());
+			}
 		}
+
+		// Register the whole tree at once, so paths that share arguments also share
+		// Brigadier nodes
+		@SuppressWarnings("unchecked")
+		CommandAPIHandler<Argument, CommandSender, ?> handler = (CommandAPIHandler<Argument, CommandSender, ?>) CommandAPIHandler.getInstance();
+		handler.registerTree(this.meta, argumentPaths, executors);
 	}
 }
@@ -186,7 +186,8 @@ public final class Brigadier {
 	 */
 	public static <Argument extends AbstractArgument<?, ?, Argument, ?>> Object[] parseArguments(CommandContext cmdCtx, List<Argument> args) throws CommandSyntaxException {
 		CommandAPIHandler<Argument, ?, ?> handler = (CommandAPIHandler<Argument, ?, ?>) CommandAPIHandler.getInstance();
-		return handler.argsToCommandArgs(cmdCtx, (Argument[]) args.toArray(AbstractArgument[]::new)).args();
+		Argument[] arguments = (Argument[]) args.toArray(AbstractArgument[]::new);
+		return handler.argsToCommandArgs(cmdCtx, arguments, CommandAPIHandler.createArgumentIndex(arguments)).args();
 	}
 
 	/**
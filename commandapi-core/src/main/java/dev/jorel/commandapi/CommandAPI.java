@@ -7,7 +7,7 @@ import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -43,10 +43,12 @@ public class CommandAPI {
 
 	/**
 	 * Flag that commands should no longer be registered. After running this,
-	 * {@link CommandAPI#canRegister()} will return false.
+	 * {@link CommandAPI#canRegister()} will return false. If writes to the
+	 * dispatcher file are being batched, the dispatcher file is written now.
 	 */
 	public static void stopCommandRegistration() {
 		CommandAPI.canRegister = false;
+		CommandAPIHandler.getInstance().dispatcherFileWriter.flush();
 	}
 
 	/**
@@ -214,15 +216,37 @@ public class CommandAPI {
 
 	/**
 	 * Updates the requirements required for a given player to execute a command.
+	 * This should also be called after a player's permissions change, so that
+	 * permissions the CommandAPI remembered for them are checked again.
 	 *
 	 * @param player the player whose requirements should be updated
 	 */
 	public static <CommandSender, Player extends CommandSender> void updateRequirements(Player player) {
 		@SuppressWarnings("unchecked")
 		CommandAPIPlatform<?, CommandSender, ?> platform = (CommandAPIPlatform<?, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
+		CommandAPIHandler.getInstance().permissionDecisions.invalidate(platform.getSenderKey(player));
 		platform.updateRequirements((AbstractPlayer<?>) platform.wrapCommandSender(player));
 	}
 
+	/**
+	 * Updates the requirements required for some players to execute commands.
+	 * This is the same as calling {@link #updateRequirements(Object)} for each
+	 * player, but players that can use the same commands are sent the same
+	 * command tree, which is only built once, where the platform supports it.
+	 *
+	 * @param players the players whose requirements should be updated
+	 */
+	public static <CommandSender, Player extends CommandSender> void updateRequirements(Collection<? extends Player> players) {
+		@SuppressWarnings("unchecked")
+		CommandAPIPlatform<?, CommandSender, ?> platform = (CommandAPIPlatform<?, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
+		List<AbstractPlayer<?>> wrappedPlayers = new ArrayList<>(players.size());
+		for (Player player : players) {
+			CommandAPIHandler.getInstance().permissionDecisions.invalidate(platform.getSenderKey(player));
+			wrappedPlayers.add((AbstractPlayer<?>) platform.wrapCommandSender(player));
+		}
+		platform.updateRequirements(wrappedPlayers);
+	}
+
 	// Produce WrapperCommandSyntaxException
 
 	/**
@@ -291,6 +315,6 @@ public class CommandAPI {
 	 * registered by the CommandAPI so far. The returned list is immutable.
 	 */
 	public static List<RegisteredCommand> getRegisteredCommands() {
-		return Collections.unmodifiableList(CommandAPIHandler.getInstance().registeredCommands);
+		return CommandAPIHandler.getInstance().registeredCommands.asList();
 	}
 }
@@ -42,6 +42,14 @@ extends CommandAPIConfig<Impl>
 	String missingExecutorImplementationMessage = "This command has no implementations for %s";
 
 	File dispatcherFile = null;
+	boolean batchDispatcherFileWrites = false;
+	long dispatcherFileQuietPeriod = 0L;
+
+	boolean asyncSuggestions = false;
+	int asyncSuggestionThreads = 2;
+	long asyncSuggestionTimeout = 1000L;
+
+	boolean lazyArgumentParsing = false;
 
 	List<String> skipSenderProxy = new ArrayList<>();
 
@@ -119,6 +127,111 @@ extends CommandAPIConfig<Impl>
 		return instance();
 	}
 
+	/**
+	 * Sets whether the CommandAPI should only write the dispatcher file once
+	 * command registration has finished, instead of rewriting the whole file
+	 * every time a command is registered. If true, the file is written when
+	 * {@link CommandAPI#stopCommandRegistration()} is called (on Velocity, which
+	 * never stops command registration, when the CommandAPI is enabled), or after
+	 * the quiet period set with {@link #dispatcherFileQuietPeriod(long)}. Commands
+	 * registered after that are written straight away. This has no effect if no
+	 * dispatcher file has been set with {@link #dispatcherFile(File)}.
+	 *
+	 * @param value whether writes to the dispatcher file should be batched
+	 * @return this CommandAPIConfig
+	 */
+	public Impl batchDispatcherFileWrites(boolean value) {
+		this.batchDispatcherFileWrites = value;
+		return instance();
+	}
+
+	/**
+	 * Sets how long the CommandAPI should wait after the last command
+	 * registration before writing the dispatcher file. The file is written on the
+	 * server's main thread, so this has no effect on Velocity. This only applies
+	 * if {@link #batchDispatcherFileWrites(boolean)} is enabled. If this is
+	 * {@code 0}, the dispatcher file is only written when
+	 * {@link CommandAPI#stopCommandRegistration()} is called.
+	 *
+	 * @param milliseconds the quiet period in milliseconds
+	 * @return this CommandAPIConfig
+	 */
+	public Impl dispatcherFileQuietPeriod(long milliseconds) {
+		this.dispatcherFileQuietPeriod = milliseconds;
+		return instance();
+	}
+
+	/**
+	 * Sets whether suggestions should be calculated on background threads
+	 * instead of the thread that requested them (usually the main server
+	 * thread). If true, {@link dev.jorel.commandapi.arguments.ArgumentSuggestions}
+	 * must be safe to run off the main thread. If a player types again before
+	 * their previous suggestions have been calculated, the previous suggestions
+	 * are stopped and replaced with no suggestions.
+	 *
+	 * @param value whether suggestions should be calculated on background threads
+	 * @return this CommandAPIConfig
+	 */
+	public Impl asyncSuggestions(boolean value) {
+		this.asyncSuggestions = value;
+		return instance();
+	}
+
+	/**
+	 * Sets the number of background threads used to calculate suggestions. If
+	 * this is {@code 0}, a virtual thread is used for each request if the Java
+	 * version supports it, or one thread for each processor otherwise. This only
+	 * applies if {@link #asyncSuggestions(boolean)} is enabled.
+	 *
+	 * @param threads the number of threads to calculate suggestions on
+	 * @return this CommandAPIConfig
+	 */
+	public Impl asyncSuggestionThreads(int threads) {
+		this.asyncSuggestionThreads = threads;
+		return instance();
+	}
+
+	/**
+	 * Sets how long suggestions may take to calculate on a background thread. If
+	 * suggestions take longer than this, no suggestions are shown. This only
+	 * applies if {@link #asyncSuggestions(boolean)} is enabled.
+	 *
+	 * @param milliseconds the timeout in milliseconds
+	 * @return this CommandAPIConfig
+	 */
+	public Impl asyncSuggestionTimeout(long milliseconds) {
+		this.asyncSuggestionTimeout = milliseconds;
+		return instance();
+	}
+
+	/**
+	 * Sets whether arguments should only be parsed when an executor asks for them.
+	 * If a command has any {@link dev.jorel.commandapi.arguments.CommandAPIArgumentType#CUSTOM
+	 * custom arguments}, those arguments and every argument before them are still
+	 * parsed before the executor runs, so custom arguments can reject the command
+	 * before anything happens. Arguments after the last custom argument are parsed
+	 * the first time they are read, and if one of them can't be parsed, the
+	 * executor stops at that point and the sender sees the same error they would
+	 * otherwise have seen. This means an executor can do some work before finding
+	 * out that a later argument is invalid. Converted commands always parse every
+	 * argument.
+	 * <p>
+	 * Arguments are parsed on the thread that reads them. If an executor passes
+	 * its arguments to another thread, for example to an async task, it should
+	 * call {@link dev.jorel.commandapi.executors.CommandArguments#parseAll()}
+	 * first. Otherwise, arguments that need the main thread (like entity
+	 * selectors) are parsed on the wrong thread, and an argument that can't be
+	 * parsed throws a {@link dev.jorel.commandapi.exceptions.LazyArgumentParseException}
+	 * in that task instead of being reported to the sender.
+	 *
+	 * @param value whether arguments should only be parsed when they are read
+	 * @return this CommandAPIConfig
+	 */
+	public Impl lazyArgumentParsing(boolean value) {
+		this.lazyArgumentParsing = value;
+		return instance();
+	}
+
 	public Impl addSkipSenderProxy(String... names) {
 		this.skipSenderProxy.addAll(List.of(names));
 		return instance();
@@ -21,6 +21,7 @@
 package dev.jorel.commandapi;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -34,6 +35,7 @@ import dev.jorel.commandapi.commandsenders.AbstractConsoleCommandSender;
 import dev.jorel.commandapi.commandsenders.AbstractEntity;
 import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 import dev.jorel.commandapi.commandsenders.AbstractProxiedCommandSender;
+import dev.jorel.commandapi.exceptions.LazyArgumentParseException;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.ExecutionInfo;
 import dev.jorel.commandapi.executors.ExecutorType;
@@ -59,6 +61,10 @@ extends AbstractCommandSender<? extends CommandSender>
 	private List<NormalExecutor<CommandSender, WrapperType>> normalExecutors;
 	private List<ResultingExecutor<CommandSender, WrapperType>> resultingExecutors;
 
+	// Which executor to run for each ExecutorType. Built the first time this
+	// executor is used, and thrown away whenever the executors change
+	private volatile DispatchTable<CommandSender, WrapperType> dispatchTable;
+
 	public CommandAPIExecutor() {
 		normalExecutors = new ArrayList<>();
 		resultingExecutors = new ArrayList<>();
@@ -67,62 +73,51 @@ extends AbstractCommandSender<? extends CommandSender>
 	@SuppressWarnings("unchecked")
 	public void addNormalExecutor(NormalExecutor<?, ?> executor) {
 		this.normalExecutors.add((NormalExecutor<CommandSender, WrapperType>) executor);
+		this.dispatchTable = null;
 	}
 
 	@SuppressWarnings("unchecked")
 	public void addResultingExecutor(ResultingExecutor<?, ?> executor) {
 		this.resultingExecutors.add((ResultingExecutor<CommandSender, WrapperType>) executor);
+		this.dispatchTable = null;
 	}
 
 	public int execute(ExecutionInfo<CommandSender, WrapperType> info) throws CommandSyntaxException {
-		// Parse executor type
-		if (!resultingExecutors.isEmpty()) {
-			// Run resulting executor
-			try {
-				return execute(resultingExecutors, info);
-			} catch (WrapperCommandSyntaxException e) {
-				throw e.getException();
-			} catch (Throwable ex) {
-				CommandAPI.getLogger().severe("Unhandled exception executing '" + info.args().getFullInput() + "'", ex);
-				if (ex instanceof Exception) {
-					throw ex;
-				} else {
-					throw new RuntimeException(ex);
-				}
-			}
-		} else {
-			// Run normal executor
-			try {
-				return execute(normalExecutors, info);
-			} catch (WrapperCommandSyntaxException e) {
-				throw e.getException();
-			} catch (Throwable ex) {
-				CommandAPI.getLogger().severe("Unhandled exception executing '" + info.args().getFullInput() + "'", ex);
-				if (ex instanceof Exception) {
-					throw ex;
-				} else {
-					throw new RuntimeException(ex);
-				}
+		// Resulting executors are used instead of normal executors if there are any
+		try {
+			return execute(getDispatchTable(), info);
+		} catch (WrapperCommandSyntaxException e) {
+			throw e.getException();
+		} catch (LazyArgumentParseException e) {
+			// An argument read by the executor couldn't be parsed
+			throw e.getException();
+		} catch (Throwable ex) {
+			CommandAPI.getLogger().severe("Unhandled exception executing '" + info.args().getFullInput() + "'", ex);
+			if (ex instanceof Exception) {
+				throw ex;
+			} else {
+				throw new RuntimeException(ex);
 			}
 		}
 	}
 
-	private int execute(List<? extends TypedExecutor<CommandSender, WrapperType>> executors, ExecutionInfo<CommandSender, WrapperType> info)
+	private int execute(DispatchTable<CommandSender, WrapperType> table, ExecutionInfo<CommandSender, WrapperType> info)
 			throws WrapperCommandSyntaxException {
-		if (isForceNative()) {
-			return execute(executors, info, ExecutorType.NATIVE);
-		} else if (info.senderWrapper() instanceof AbstractPlayer && matches(executors, ExecutorType.PLAYER)) {
-			return execute(executors, info, ExecutorType.PLAYER);
-		} else if (info.senderWrapper() instanceof AbstractEntity && matches(executors, ExecutorType.ENTITY)) {
-			return execute(executors, info, ExecutorType.ENTITY);
-		} else if (info.senderWrapper() instanceof AbstractConsoleCommandSender && matches(executors, ExecutorType.CONSOLE)) {
-			return execute(executors, info, ExecutorType.CONSOLE);
-		} else if (info.senderWrapper() instanceof AbstractBlockCommandSender && matches(executors, ExecutorType.BLOCK)) {
-			return execute(executors, info, ExecutorType.BLOCK);
-		} else if (info.senderWrapper() instanceof AbstractProxiedCommandSender && matches(executors, ExecutorType.PROXY)) {
-			return execute(executors, info, ExecutorType.PROXY);
-		} else if (matches(executors, ExecutorType.ALL)) {
-			return execute(executors, info, ExecutorType.ALL);
+		if (table.forceNative()) {
+			return execute(table, info, ExecutorType.NATIVE);
+		}
+
+		// Executors for the sender's own types take priority over ALL executors
+		for (ExecutorType type : SENDER_TYPES.get(info.senderWrapper().getClass())) {
+			TypedExecutor<CommandSender, WrapperType> executor = table.executors()[type.ordinal()];
+			if (executor != null) {
+				return executor.executeWith(info);
+			}
+		}
+
+		TypedExecutor<CommandSender, WrapperType> executor = table.executors()[ExecutorType.ALL.ordinal()];
+		if (executor != null) {
+			return executor.executeWith(info);
 		} else {
 			throw new WrapperCommandSyntaxException(new SimpleCommandExceptionType(
 					new LiteralMessage(CommandAPI.getConfiguration().getMissingImplementationMessage()
@@ -131,22 +126,92 @@ extends AbstractCommandSender<? extends CommandSender>
 		}
 	}
 
-	private int execute(List<? extends TypedExecutor<CommandSender, WrapperType>> executors,
+	private int execute(DispatchTable<CommandSender, WrapperType> table,
 	                    ExecutionInfo<CommandSender, WrapperType> info, ExecutorType type) throws WrapperCommandSyntaxException {
-		for (TypedExecutor<CommandSender, WrapperType> executor : executors) {
-			if (executor.getType() == type) {
-				return executor.executeWith(info);
+		TypedExecutor<CommandSender, WrapperType> executor = table.executors()[type.ordinal()];
+		if (executor == null) {
+			throw new NoSuchElementException("Executor had no valid executors for type " + type.toString());
+		}
+		return executor.executeWith(info);
+	}
+
+	/**
+	 * The executor to run for each {@link ExecutorType}, indexed by
+	 * {@link ExecutorType#ordinal()}. If more than one executor has the same
+	 * type, the first one is used
+	 */
+	private record DispatchTable<CommandSender, WrapperType
+	/// @cond DOX
+	extends AbstractCommandSender<? extends CommandSender>
+	/// @endcond
+	>(TypedExecutor<CommandSender, WrapperType>[] executors, boolean forceNative) {
+	}
+
+	private DispatchTable<CommandSender, WrapperType> getDispatchTable() {
+		DispatchTable<CommandSender, WrapperType> table = this.dispatchTable;
+		if (table == null) {
+			List<? extends TypedExecutor<CommandSender, WrapperType>> executors = resultingExecutors.isEmpty() ? normalExecutors : resultingExecutors;
+
+			@SuppressWarnings("unchecked")
+			TypedExecutor<CommandSender, WrapperType>[] byType = new TypedExecutor[ExecutorType.values().length];
+			for (TypedExecutor<CommandSender, WrapperType> executor : executors) {
+				if (byType[executor.getType().ordinal()] == null) {
+					byType[executor.getType().ordinal()] = executor;
+				}
 			}
+
+			table = new DispatchTable<>(byType, matches(normalExecutors, ExecutorType.NATIVE) || matches(resultingExecutors, ExecutorType.NATIVE));
+			this.dispatchTable = table;
 		}
-		throw new NoSuchElementException("Executor had no valid executors for type " + type.toString());
+		return table;
 	}
 
+	// The executor types that each class of sender can use, in order of priority.
+	// A sender can have more than one type, for example a player is also an entity
+	// on some platforms
+	private static final ClassValue<ExecutorType[]> SENDER_TYPES = new ClassValue<>() {
+		@Override
+		protected ExecutorType[] computeValue(Class<?> senderClass) {
+			List<ExecutorType> types = new ArrayList<>();
+			if (AbstractPlayer.class.isAssignableFrom(senderClass)) {
+				types.add(ExecutorType.PLAYER);
+			}
+			if (AbstractEntity.class.isAssignableFrom(senderClass)) {
+				types.add(ExecutorType.ENTITY);
+			}
+			if (AbstractConsoleCommandSender.class.isAssignableFrom(senderClass)) {
+				types.add(ExecutorType.CONSOLE);
+			}
+			if (AbstractBlockCommandSender.class.isAssignableFrom(senderClass)) {
+				types.add(ExecutorType.BLOCK);
+			}
+			if (AbstractProxiedCommandSender.class.isAssignableFrom(senderClass)) {
+				types.add(ExecutorType.PROXY);
+			}
+			return types.toArray(new ExecutorType[0]);
+		}
+	};
+
+	/**
+	 * Returns the normal executors of this executor. Use
+	 * {@link #addNormalExecutor(NormalExecutor)} or
+	 * {@link #setNormalExecutors(List)} to change them
+	 *
+	 * @return an unmodifiable view of the normal executors of this executor
+	 */
 	public List<NormalExecutor<CommandSender, WrapperType>> getNormalExecutors() {
-		return normalExecutors;
+		return Collections.unmodifiableList(normalExecutors);
 	}
 
+	/**
+	 * Returns the resulting executors of this executor. Use
+	 * {@link #addResultingExecutor(ResultingExecutor)} or
+	 * {@link #setResultingExecutors(List)} to change them
+	 *
+	 * @return an unmodifiable view of the resulting executors of this executor
+	 */
 	public List<ResultingExecutor<CommandSender, WrapperType>> getResultingExecutors() {
-		return resultingExecutors;
+		return Collections.unmodifiableList(resultingExecutors);
 	}
 
 	public boolean hasAnyExecutors() {
@@ -154,7 +219,7 @@ extends AbstractCommandSender<? extends CommandSender>
 	}
 
 	public boolean isForceNative() {
-		return matches(normalExecutors, ExecutorType.NATIVE) || matches(resultingExecutors, ExecutorType.NATIVE);
+		return getDispatchTable().forceNative();
 	}
 
 	private boolean matches(List<? extends TypedExecutor<?, ?>> executors, ExecutorType type) {
@@ -176,10 +241,12 @@ extends AbstractCommandSender<? extends CommandSender>
 	}
 
 	public void setNormalExecutors(List<NormalExecutor<CommandSender, WrapperType>> normalExecutors) {
-		this.normalExecutors = normalExecutors;
+		this.normalExecutors = new ArrayList<>(normalExecutors);
+		this.dispatchTable = null;
 	}
 
 	public void setResultingExecutors(List<ResultingExecutor<CommandSender, WrapperType>> resultingExecutors) {
-		this.resultingExecutors = resultingExecutors;
+		this.resultingExecutors = new ArrayList<>(resultingExecutors);
+		this.dispatchTable = null;
 	}
 }
\ No newline at end of file
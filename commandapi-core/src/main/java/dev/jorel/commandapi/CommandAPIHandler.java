@@ -21,8 +21,6 @@
 package dev.jorel.commandapi;
 
 import java.awt.Component;
-import java.io.File;
-import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
@@ -33,11 +31,14 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.builder.ArgumentBuilder;
@@ -52,14 +53,18 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 
+import dev.jorel.commandapi.RegisteredCommandIndex.RegisteredArgument;
 import dev.jorel.commandapi.arguments.AbstractArgument;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CommandAPIArgumentType;
 import dev.jorel.commandapi.arguments.CustomProvidedArgument;
 import dev.jorel.commandapi.arguments.Literal;
 import dev.jorel.commandapi.arguments.MultiLiteral;
 import dev.jorel.commandapi.arguments.PreviewInfo;
 import dev.jorel.commandapi.arguments.Previewable;
 import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
+import dev.jorel.commandapi.exceptions.LazyArgumentParseException;
+import dev.jorel.commandapi.executors.ArgumentIndex;
 import dev.jorel.commandapi.executors.CommandArguments;
 import dev.jorel.commandapi.executors.ExecutionInfo;
 import dev.jorel.commandapi.preprocessor.RequireField;
@@ -115,19 +120,26 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	// TODO: Need to ensure this can be safely "disposed of" when we're done (e.g. on reloads).
 	// I hiiiiiiighly doubt we're storing class caches of classes that can be unloaded at runtime,
 	// but this IS a generic class caching system and we don't want derpy memory leaks
-	private static final Map<ClassCache, Field> FIELDS = new HashMap<>();
+	// Fields can be looked up from suggestion threads as well as the main thread
+	private static final Map<ClassCache, Field> FIELDS = new ConcurrentHashMap<>();
 
 	final CommandAPIPlatform<Argument, CommandSender, Source> platform;
 	final TreeMap<String, CommandPermission> registeredPermissions = new TreeMap<>();
-	final List<RegisteredCommand> registeredCommands; // Keep track of what has been registered for type checking
+	final RegisteredCommandIndex registeredCommands; // Keep track of what has been registered for type checking
 	final Map<List<String>, Previewable<?, ?>> previewableArguments; // Arguments with previewable chat
+	final DispatcherFileWriter<Source> dispatcherFileWriter;
+	final SuggestionScheduler suggestionScheduler;
+	final PermissionDecisionCache<Source, CommandSender> permissionDecisions;
 
 	private static CommandAPIHandler<?, ?, ?> instance;
 
 	protected CommandAPIHandler(CommandAPIPlatform<Argument, CommandSender, Source> platform) {
 		this.platform = platform;
-		this.registeredCommands = new ArrayList<>();
+		this.registeredCommands = new RegisteredCommandIndex();
 		this.previewableArguments = new HashMap<>();
+		this.dispatcherFileWriter = new DispatcherFileWriter<>(platform);
+		this.suggestionScheduler = new SuggestionScheduler();
+		this.permissionDecisions = new PermissionDecisionCache<>(platform::getCommandSenderFromCommandSource, platform::getSenderKey);
 
 		CommandAPIHandler.instance = this;
 	}
@@ -152,6 +164,9 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	}
 
 	public void onDisable() {
+		dispatcherFileWriter.shutdown();
+		suggestionScheduler.shutdown();
+		permissionDecisions.invalidateAll();
 		platform.onDisable();
 		CommandAPIHandler.resetInstance();
 	}
@@ -183,11 +198,19 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 * @throws CommandSyntaxException if an error occurs when the command is ran
 	 */
 	Command<Source> generateCommand(Argument[] args, CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+		// Node names don't change after registration, so look them up once for every execution
+		final ArgumentIndex argumentIndex = createArgumentIndex(args);
+
+		// Converted commands need every argument to find the entities they select
+		final boolean lazy = !converted && CommandAPI.getConfiguration().shouldParseArgumentsLazily();
+		final int firstLazyArgument = lazy ? findFirstLazyArgument(args) : args.length;
 
 		// Generate our command from executor
 		return cmdCtx -> {
 			AbstractCommandSender<? extends CommandSender> sender = platform.getSenderForCommand(cmdCtx, executor.isForceNative());
-			CommandArguments commandArguments = argsToCommandArgs(cmdCtx, args);
+			CommandArguments commandArguments = firstLazyArgument < args.length
+				? argsToCommandArgs(cmdCtx, args, argumentIndex, firstLazyArgument)
+				: argsToCommandArgs(cmdCtx, args, argumentIndex);
 			ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> executionInfo = new ExecutionInfo<>() {
 				@Override
 				public CommandSender sender() {
@@ -207,9 +230,11 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 			if (converted) {
 				int resultValue = 0;
 
-				// Return a String[] of arguments for converted commands
-				String[] argsAndCmd = cmdCtx.getRange().get(cmdCtx.getInput()).split(" ");
-				String[] result = new String[argsAndCmd.length - 1];
+				// Return a String[] of arguments for converted commands. The same
+				// array and CommandArguments are reused for every combination of
+				// entity names, so the executor must not keep them after it returns
+				String[] result = splitConvertedArguments(cmdCtx.getRange().get(cmdCtx.getInput()));
+				CommandArguments convertedArguments = new CommandArguments(result, new LinkedHashMap<>(), "/" + cmdCtx.getInput());
 				ExecutionInfo<CommandSender, AbstractCommandSender<? extends CommandSender>> convertedExecutionInfo = new ExecutionInfo<>() {
 					@Override
 					public CommandSender sender() {
@@ -223,12 +248,10 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 					@Override
 					public CommandArguments args() {
-						return new CommandArguments(result, new LinkedHashMap<>(), "/" + cmdCtx.getInput());
+						return convertedArguments;
 					}
 				};
 
-				System.arraycopy(argsAndCmd, 1, result, 0, argsAndCmd.length - 1);
-
 				// As stupid as it sounds, it's more performant and safer to use
 				// a List<?>[] instead of a List<List<?>>, due to NPEs and AIOOBEs.
 				@SuppressWarnings("unchecked")
@@ -236,18 +259,13 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 				for (int i = 0; i < args.length; i++) {
 					entityNamesForArgs[i] = args[i].getEntityNames(commandArguments.get(i));
 				}
-				List<List<String>> product = CartesianProduct.getDescartes(Arrays.asList(entityNamesForArgs));
-
-				// These objects in obj are List<String>
-				for (List<String> strings : product) {
-					// We assume result.length == strings.size
-					if (result.length == strings.size()) {
-						for (int i = 0; i < result.length; i++) {
-							if (strings.get(i) != null) {
-								result[i] = strings.get(i);
-							}
-						}
-					}
+
+				// Combinations are generated one at a time, so selectors that match
+				// a lot of entities don't need the whole product in memory. If the
+				// executor throws, the exception stops the remaining combinations
+				CartesianProduct product = new CartesianProduct(entityNamesForArgs);
+				while (product.hasNext() && sender.isConnected()) {
+					product.next(result);
 					resultValue += executor.execute(convertedExecutionInfo);
 				}
 
@@ -261,29 +279,105 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	/**
 	 * Converts the List&lt;Argument> into a {@link CommandArguments} for command execution
 	 * 
-	 * @param cmdCtx the command context that will execute this command
-	 * @param args   the map of strings to arguments
+	 * @param cmdCtx        the command context that will execute this command
+	 * @param args          the map of strings to arguments
+	 * @param argumentIndex the index of node names for the listed arguments, from
+	 *                      {@link #createArgumentIndex(AbstractArgument[])}
 	 * @return an CommandArguments object which can be used in (sender, args) ->
 	 * @throws CommandSyntaxException
 	 */
-	CommandArguments argsToCommandArgs(CommandContext<Source> cmdCtx, Argument[] args)
+	CommandArguments argsToCommandArgs(CommandContext<Source> cmdCtx, Argument[] args, ArgumentIndex argumentIndex)
 			throws CommandSyntaxException {
-		// Array for arguments for executor
-		List<Object> argList = new ArrayList<>();
-
-		// LinkedHashMap for arguments for executor
-		Map<String, Object> argsMap = new LinkedHashMap<>();
+		// One array for the whole invocation. Each argument's parser sees the
+		// arguments parsed so far through this same object, so nothing is copied
+		ParsedArguments commandArguments = new ParsedArguments(argumentIndex, () -> "/" + cmdCtx.getInput());
 
 		// Populate array
 		for (Argument argument : args) {
 			if (argument.isListed()) {
-				Object parsedArgument = parseArgument(cmdCtx, argument.getNodeName(), argument, new CommandArguments(argList.toArray(), argsMap, "/" + cmdCtx.getInput()));
-				argList.add(parsedArgument);
-				argsMap.put(argument.getNodeName(), parsedArgument);
+				commandArguments.append(parseArgument(cmdCtx, argument.getNodeName(), argument, commandArguments));
 			}
 		}
 
-		return new CommandArguments(argList.toArray(), argsMap, "/" + cmdCtx.getInput());
+		return commandArguments;
+	}
+
+	/**
+	 * Converts the List&lt;Argument> into a {@link CommandArguments} for command
+	 * execution, where arguments from {@code firstLazyArgument} onwards are only
+	 * parsed when they are read. See
+	 * {@link CommandAPIConfig#lazyArgumentParsing(boolean)}
+	 * 
+	 * @param cmdCtx            the command context that will execute this command
+	 * @param args              the map of strings to arguments
+	 * @param argumentIndex     the index of node names for the listed arguments, from
+	 *                          {@link #createArgumentIndex(AbstractArgument[])}
+	 * @param firstLazyArgument the position in {@code args} of the first argument
+	 *                          to parse lazily, from {@link #findFirstLazyArgument(AbstractArgument[])}
+	 * @return an CommandArguments object which can be used in (sender, args) ->
+	 * @throws CommandSyntaxException
+	 */
+	CommandArguments argsToCommandArgs(CommandContext<Source> cmdCtx, Argument[] args, ArgumentIndex argumentIndex, int firstLazyArgument)
+			throws CommandSyntaxException {
+		// Each argument's parser sees the arguments parsed so far through this
+		// same object, so nothing is copied
+		@SuppressWarnings("unchecked")
+		final Argument[] lazyArguments = (Argument[]) new AbstractArgument[argumentIndex.size()];
+		LazyArguments commandArguments = new LazyArguments(argumentIndex, () -> "/" + cmdCtx.getInput(),
+			(slot, previousArgs) -> {
+				Argument argument = lazyArguments[slot];
+				return parseArgument(cmdCtx, argument.getNodeName(), argument, previousArgs);
+			});
+
+		// Populate array
+		for (int i = 0; i < args.length; i++) {
+			Argument argument = args[i];
+			if (!argument.isListed()) {
+				continue;
+			}
+			if (i < firstLazyArgument) {
+				commandArguments.append(parseArgument(cmdCtx, argument.getNodeName(), argument, commandArguments));
+			} else {
+				lazyArguments[commandArguments.count()] = argument;
+				commandArguments.appendUnparsed();
+			}
+		}
+
+		return commandArguments;
+	}
+
+	/**
+	 * Finds the first argument of a command that can be parsed lazily. Custom
+	 * arguments can reject the command, so they and everything they might read
+	 * are always parsed before the executor runs
+	 *
+	 * @param args the arguments of the command
+	 * @return the position of the first argument after the last custom argument
+	 */
+	static int findFirstLazyArgument(AbstractArgument<?, ?, ?, ?>[] args) {
+		for (int i = args.length - 1; i >= 0; i--) {
+			if (args[i].getArgumentType() == CommandAPIArgumentType.CUSTOM) {
+				return i + 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Creates an index of the node names of the listed arguments in a command, so
+	 * {@link CommandArguments#get(String)} doesn't need a map for every execution
+	 *
+	 * @param args the arguments of the command
+	 * @return an index of the node names of the listed arguments
+	 */
+	static ArgumentIndex createArgumentIndex(AbstractArgument<?, ?, ?, ?>[] args) {
+		List<String> nodeNames = new ArrayList<>();
+		for (AbstractArgument<?, ?, ?, ?> argument : args) {
+			if (argument.isListed()) {
+				nodeNames.add(argument.getNodeName());
+			}
+		}
+		return ArgumentIndex.of(nodeNames.toArray(new String[0]));
 	}
 
 	/**
@@ -343,8 +437,7 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 
 		// Generate predicate for the permission and requirement check
 		CommandPermission finalPermission = permission;
-		return (Source css) -> permissionCheck(platform.getCommandSenderFromCommandSource(css), finalPermission,
-				requirements);
+		return (Source css) -> permissionDecisions.test(css, finalPermission, requirements);
 	}
 
 	/**
@@ -355,6 +448,18 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 * @return true if the sender satisfies the provided permission
 	 */
 	static <CommandSender> boolean permissionCheck(AbstractCommandSender<? extends CommandSender> sender, CommandPermission permission, Predicate<CommandSender> requirements) {
+		return hasPermission(sender, permission) && requirements.test(sender == null ? null : sender.getSource());
+	}
+
+	/**
+	 * Checks if a sender has a given permission, without checking any other
+	 * requirements.
+	 * 
+	 * @param sender     the sender to check permissions of
+	 * @param permission the CommandAPI CommandPermission permission to check
+	 * @return true if the sender satisfies the provided permission
+	 */
+	static boolean hasPermission(AbstractCommandSender<?> sender, CommandPermission permission) {
 		boolean satisfiesPermissions;
 		if (sender == null) {
 			satisfiesPermissions = true;
@@ -377,7 +482,7 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		if (permission.isNegated()) {
 			satisfiesPermissions = !satisfiesPermissions;
 		}
-		return satisfiesPermissions && requirements.test(sender == null ? null : sender.getSource());
+		return satisfiesPermissions;
 	}
 
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -385,24 +490,24 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 
 	/*
-	 * Expands multiliteral arguments and registers all expansions of
-	 * MultiLiteralArguments throughout the provided command. Returns true if
-	 * multiliteral arguments were present (and expanded) and returns false if
-	 * multiliteral arguments were not present.
+	 * Expands multiliteral arguments throughout the provided command into
+	 * literal arguments. Returns every combination of the expanded literals, in
+	 * the order they should be registered. If there are no multiliteral
+	 * arguments, this returns just the provided arguments.
 	 */
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private boolean expandMultiLiterals(CommandMetaData<CommandSender> meta, final Argument[] args,
-			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+	private List<Argument[]> expandMultiLiterals(final Argument[] args) {
+		List<Argument[]> expanded = List.<Argument[]>of(args);
 
 		// "Expands" our MultiLiterals into Literals
 		for (int index = 0; index < args.length; index++) {
-			// Find the first multiLiteral in the for loop
 			if (args[index] instanceof MultiLiteral) {
 				MultiLiteral<? extends Argument> superArg = (MultiLiteral<? extends Argument>) args[index];
 
 				String nodeName = superArg.instance().getNodeName();
 
-				// Add all of its entries
+				// Create all of its entries
+				List<Argument> literals = new ArrayList<>();
 				for (String literal: superArg.getLiterals()) {
 					// TODO: We only expect nodeName to be null here because the constructor for a MultiLiteralArgument
 					//  without a nodeName is currently deprecated but not removed. Once that constructor is removed,
@@ -412,16 +517,22 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 					litArg.setListed(superArg.instance().isListed())
 						.withPermission(superArg.instance().getArgumentPermission())
 						.withRequirement((Predicate) superArg.instance().getRequirements());
+					literals.add(litArg);
+				}
 
-					// Reconstruct the list of arguments and place in the new literals
-					Argument[] newArgs = Arrays.copyOf(args, args.length);
-					newArgs[index] = litArg;
-					register(meta, newArgs, executor, converted);
+				// Reconstruct the list of arguments and place in the new literals
+				List<Argument[]> next = new ArrayList<>(expanded.size() * literals.size());
+				for (Argument[] partiallyExpanded : expanded) {
+					for (Argument litArg : literals) {
+						Argument[] newArgs = Arrays.copyOf(partiallyExpanded, partiallyExpanded.length);
+						newArgs[index] = litArg;
+						next.add(newArgs);
+					}
 				}
-				return true;
+				expanded = next;
 			}
 		}
-		return false;
+		return expanded;
 	}
 
 	// Prevent nodes of the same name but with different types:
@@ -429,97 +540,61 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	// disallow /race invite<LiteralArgument> player<EntitySelectorArgument>
 	// Return true if conflict was present, otherwise return false
 	private boolean hasCommandConflict(String commandName, Argument[] args, String argumentsAsString) {
-		List<String[]> regArgs = new ArrayList<>();
-		for (RegisteredCommand rCommand : registeredCommands) {
-			if (rCommand.commandName().equals(commandName)) {
-				for (String str : rCommand.argsAsStr()) {
-					regArgs.add(str.split(":"));
-				}
-				// We just find the first entry that causes a conflict. If this
-				// were some industry-level code, we would probably generate a
-				// list of all commands first, then check for command conflicts
-				// all in one go so we can display EVERY command conflict for
-				// all commands, but this works perfectly and isn't important.
-				break;
-			}
+		RegisteredArgument[] conflictingArguments = registeredCommands.findConflict(commandName, args);
+		if (conflictingArguments == null) {
+			return false;
 		}
-		for (int i = 0; i < args.length; i++) {
-			// Avoid IAOOBEs and ensure all node names are the same
-			if ((regArgs.size() == i && regArgs.size() < args.length) || (!regArgs.get(i)[0].equals(args[i].getNodeName()))) {
-				break;
-			}
-			// This only applies to the last argument
-			if (i == args.length - 1 && !regArgs.get(i)[1].equals(args[i].getClass().getSimpleName())) {
-				// Command it conflicts with
-				StringBuilder builder2 = new StringBuilder();
-				for (String[] arg : regArgs) {
-					builder2.append(arg[0]).append("<").append(arg[1]).append("> ");
-				}
 
-				CommandAPI.logError("""
-					Failed to register command:
+		// Command it conflicts with
+		StringBuilder builder2 = new StringBuilder();
+		for (RegisteredArgument arg : conflictingArguments) {
+			builder2.append(arg.nodeName()).append("<").append(arg.argumentClass().getSimpleName()).append("> ");
+		}
 
-					  %s %s
+		CommandAPI.logError("""
+			Failed to register command:
 
-					Because it conflicts with this previously registered command:
+			  %s %s
 
-					  %s %s
-					""".formatted(commandName, argumentsAsString, commandName, builder2.toString()));
-				return true;
-			}
-		}
-		return false;
-	}
+			Because it conflicts with this previously registered command:
 
-	// Links arg -> Executor
-	private ArgumentBuilder<Source, ?> generateInnerArgument(Command<Source> command, Argument[] args) {
-		Argument innerArg = args[args.length - 1];
+			  %s %s
+			""".formatted(commandName, argumentsAsString, commandName, builder2.toString()));
+		return true;
+	}
 
+	// Creates the builder for a single argument, without linking it to anything
+	private ArgumentBuilder<Source, ?> generateArgumentBuilder(Argument arg, Argument[] args) {
 		// Handle Literal arguments
-		if (innerArg instanceof Literal) {
+		if (arg instanceof Literal) {
 			@SuppressWarnings("unchecked")
-			Literal<? extends Argument> literalArgument = (Literal<? extends Argument>) innerArg;
-			return getLiteralArgumentBuilderArgument(literalArgument.getLiteral(), innerArg.getArgumentPermission(),
-					innerArg.getRequirements()).executes(command);
+			Literal<? extends Argument> literalArgument = (Literal<? extends Argument>) arg;
+			return getLiteralArgumentBuilderArgument(literalArgument.getLiteral(), arg.getArgumentPermission(),
+					arg.getRequirements());
 		}
 
 		// Handle arguments with built-in suggestion providers
-		else if (innerArg instanceof CustomProvidedArgument customProvidedArg && innerArg.getOverriddenSuggestions().isEmpty()) {
-			return getRequiredArgumentBuilderWithProvider(innerArg, args,
-					platform.getSuggestionProvider(customProvidedArg.getSuggestionProvider())).executes(command);
+		else if (arg instanceof CustomProvidedArgument customProvidedArg && arg.getOverriddenSuggestions().isEmpty()) {
+			return getRequiredArgumentBuilderWithProvider(arg, args,
+					platform.getSuggestionProvider(customProvidedArg.getSuggestionProvider()));
 		}
 
 		// Handle every other type of argument
 		else {
-			return getRequiredArgumentBuilderDynamic(args, innerArg).executes(command);
+			return getRequiredArgumentBuilderDynamic(args, arg);
 		}
 	}
 
+	// Links arg -> Executor
+	private ArgumentBuilder<Source, ?> generateInnerArgument(Command<Source> command, Argument[] args) {
+		return generateArgumentBuilder(args[args.length - 1], args).executes(command);
+	}
+
 	// Links arg1 -> arg2 -> ... argN -> innermostArgument
 	private ArgumentBuilder<Source, ?> generateOuterArguments(ArgumentBuilder<Source, ?> innermostArgument, Argument[] args) {
 		ArgumentBuilder<Source, ?> outer = innermostArgument;
 		for (int i = args.length - 2; i >= 0; i--) {
-			Argument outerArg = args[i];
-
-			// Handle Literal arguments
-			if (outerArg instanceof Literal) {
-				@SuppressWarnings("unchecked")
-				Literal<? extends Argument> literalArgument = (Literal<? extends Argument>) outerArg;
-				outer = getLiteralArgumentBuilderArgument(literalArgument.getLiteral(),
-					outerArg.getArgumentPermission(), outerArg.getRequirements()).then(outer);
-			}
-
-			// Handle arguments with built-in suggestion providers
-			else if (outerArg instanceof CustomProvidedArgument customProvidedArg
-					&& outerArg.getOverriddenSuggestions().isEmpty()) {
-				outer = getRequiredArgumentBuilderWithProvider(outerArg, args,
-						platform.getSuggestionProvider(customProvidedArg.getSuggestionProvider())).then(outer);
-			}
-
-			// Handle every other type of argument
-			else {
-				outer = getRequiredArgumentBuilderDynamic(args, outerArg).then(outer);
-			}
+			outer = generateArgumentBuilder(args[i], args).then(outer);
 		}
 		return outer;
 	}
@@ -550,15 +625,17 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		}
 	}
 
-	// Builds a command then registers it
-	void register(CommandMetaData<CommandSender> meta, final Argument[] args,
-			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
-
-		// "Expands" our MultiLiterals into Literals
-		if (expandMultiLiterals(meta, args, executor, converted)) {
-			return;
-		}
-
+	/**
+	 * Checks that a command can be registered, and keeps track of it if it can.
+	 * This checks the command's arguments for duplicate node names and conflicts
+	 * with previously registered commands, then stores it for help topics and
+	 * previewable arguments.
+	 *
+	 * @param meta the metadata of the command
+	 * @param args the arguments of the command, with multiliterals expanded
+	 * @return true if the command can be registered, false otherwise
+	 */
+	private boolean registerCommandInfo(CommandMetaData<CommandSender> meta, final Argument[] args) {
 		// Create the human-readable command syntax of arguments
 		final String humanReadableCommandArgSyntax;
 		{
@@ -572,40 +649,51 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		// #312 Safeguard against duplicate node names. This only applies to
 		// required arguments (i.e. not literal arguments)
 		if(!checkForDuplicateArgumentNodeNames(args, humanReadableCommandArgSyntax, meta.commandName)) {
-			return;
+			return false;
 		}
 
-		// Expand metaData into named variables
-		String commandName = meta.commandName;
-		CommandPermission permission = meta.permission;
-		String[] aliases = meta.aliases;
-		Predicate<CommandSender> requirements = meta.requirements;
-		Optional<String> shortDescription = meta.shortDescription;
-		Optional<String> fullDescription = meta.fullDescription;
-		Optional<String[]> usageDescription = meta.usageDescription;
-
 		// Handle command conflicts
-		boolean hasRegisteredCommand = false;
-		for (int i = 0, size = registeredCommands.size(); i < size && !hasRegisteredCommand; i++) {
-			hasRegisteredCommand |= registeredCommands.get(i).commandName().equals(commandName);
-		}
-		if (hasRegisteredCommand && hasCommandConflict(commandName, args, humanReadableCommandArgSyntax)) {
-			return;
+		if (hasCommandConflict(meta.commandName, args, humanReadableCommandArgSyntax)) {
+			return false;
 		} else {
 			List<String> argumentsString = new ArrayList<>();
 			for (Argument arg : args) {
 				argumentsString.add(arg.getNodeName() + ":" + arg.getClass().getSimpleName());
 			}
-			registeredCommands.add(new RegisteredCommand(commandName, argumentsString, shortDescription,
-					fullDescription, usageDescription, aliases, permission));
+			registeredCommands.add(new RegisteredCommand(meta.commandName, argumentsString, meta.shortDescription,
+					meta.fullDescription, meta.usageDescription, meta.aliases, meta.permission), args);
 		}
 
 		// Handle previewable arguments
-		handlePreviewableArguments(commandName, args, aliases);
+		handlePreviewableArguments(meta.commandName, args, meta.aliases);
 
-		platform.preCommandRegistration(commandName);
+		CommandAPI.logInfo("Registering command /" + meta.commandName + " " + humanReadableCommandArgSyntax);
+		return true;
+	}
+
+	// Builds a command then registers it
+	void register(CommandMetaData<CommandSender> meta, final Argument[] args,
+			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+
+		// "Expands" our MultiLiterals into Literals
+		for (Argument[] expandedArgs : expandMultiLiterals(args)) {
+			registerExpanded(meta, expandedArgs, executor, converted);
+		}
+	}
+
+	private void registerExpanded(CommandMetaData<CommandSender> meta, final Argument[] args,
+			CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor, boolean converted) {
+		if (!registerCommandInfo(meta, args)) {
+			return;
+		}
 
-		CommandAPI.logInfo("Registering command /" + commandName + " " + humanReadableCommandArgSyntax);
+		// Expand metaData into named variables
+		String commandName = meta.commandName;
+		CommandPermission permission = meta.permission;
+		String[] aliases = meta.aliases;
+		Predicate<CommandSender> requirements = meta.requirements;
+
+		platform.preCommandRegistration(commandName);
 
 		// Generate the actual command
 		Command<Source> command = generateCommand(args, executor, converted);
@@ -662,12 +750,132 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 //				}
 //			});
 		// We never know if this is "the last command" and we want dynamic (even if
-		// partial) command registration. Generate the dispatcher file!
-		writeDispatcherToFile();
+		// partial) command registration. Generate the dispatcher file (or schedule
+		// it, if writes are being batched)!
+		dispatcherFileWriter.onCommandRegistered();
 
 		platform.postCommandRegistration(resultantNode, aliasNodes);
 	}
-	
+
+	/**
+	 * A node of a command tree that is being registered. Arguments with the same
+	 * Brigadier node name share a node, in the same way that Brigadier would merge
+	 * them if every path through the tree was registered on its own.
+	 */
+	private final class TreeNode {
+		// The arguments up to and including this node's argument, from the first
+		// path through this node. These are used to build this node's suggestions
+		final Argument[] path;
+		final Map<String, TreeNode> children = new LinkedHashMap<>();
+
+		// The path that ends at this node and its executor, if this node is executable
+		Argument[] executionPath;
+		CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor;
+
+		TreeNode(Argument[] path) {
+			this.path = path;
+		}
+
+		void add(Argument[] args, CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> executor) {
+			TreeNode node = this;
+			for (int i = 0; i < args.length; i++) {
+				final int depth = i + 1;
+				node = node.children.computeIfAbsent(getBrigadierNodeName(args[i]), name -> new TreeNode(Arrays.copyOf(args, depth)));
+			}
+			// Like Brigadier, a later path that ends at the same node replaces its command
+			node.executionPath = args;
+			node.executor = executor;
+		}
+
+		ArgumentBuilder<Source, ?> build() {
+			ArgumentBuilder<Source, ?> builder = generateArgumentBuilder(path[path.length - 1], path);
+			if (executor != null) {
+				builder.executes(generateCommand(executionPath, executor, false));
+			}
+			for (TreeNode child : children.values()) {
+				builder.then(child.build());
+			}
+			return builder;
+		}
+	}
+
+	private static String getBrigadierNodeName(AbstractArgument<?, ?, ?, ?> argument) {
+		return argument instanceof Literal<?> literal ? literal.getLiteral() : argument.getNodeName();
+	}
+
+	/**
+	 * Registers every path through a command tree as a single Brigadier node
+	 * graph. Each path is checked and kept track of in the same way as
+	 * {@code register},
+	 * but the Brigadier nodes are only built once, and paths that share arguments
+	 * share nodes.
+	 *
+	 * @param meta          the metadata of the command
+	 * @param argumentPaths the arguments of every executable path through the
+	 *                      tree, with optional arguments already expanded
+	 * @param executors     the executor of each path in argumentPaths
+	 */
+	void registerTree(CommandMetaData<CommandSender> meta, List<Argument[]> argumentPaths,
+			List<CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>>> executors) {
+		TreeNode root = new TreeNode(null);
+		boolean hasRegisteredPath = false;
+		for (int i = 0; i < argumentPaths.size(); i++) {
+			// "Expands" our MultiLiterals into Literals
+			for (Argument[] args : expandMultiLiterals(argumentPaths.get(i))) {
+				if (registerCommandInfo(meta, args)) {
+					root.add(args, executors.get(i));
+					hasRegisteredPath = true;
+				}
+			}
+		}
+		if (!hasRegisteredPath) {
+			return;
+		}
+
+		// Expand metaData into named variables
+		String commandName = meta.commandName;
+		CommandPermission permission = meta.permission;
+		String[] aliases = meta.aliases;
+		Predicate<CommandSender> requirements = meta.requirements;
+
+		platform.preCommandRegistration(commandName);
+
+		// Build every branch once. The command name and its aliases each build
+		// their own nodes from these
+		Command<Source> rootCommand = root.executor == null ? null : generateCommand(root.executionPath, root.executor, false);
+		List<ArgumentBuilder<Source, ?>> branches = new ArrayList<>();
+		for (TreeNode child : root.children.values()) {
+			branches.add(child.build());
+		}
+
+		LiteralCommandNode<Source> resultantNode = platform.registerCommandNode(linkTreeRoot(
+			getLiteralArgumentBuilder(commandName).requires(generatePermissions(commandName, permission, requirements)),
+			rootCommand, branches));
+
+		List<LiteralCommandNode<Source>> aliasNodes = new ArrayList<>();
+		for (String alias : aliases) {
+			CommandAPI.logInfo("Registering alias /" + alias + " -> " + resultantNode.getName());
+			aliasNodes.add(platform.registerCommandNode(linkTreeRoot(
+				getLiteralArgumentBuilder(alias).requires(generatePermissions(alias, permission, requirements)),
+				rootCommand, branches)));
+		}
+
+		dispatcherFileWriter.onCommandRegistered();
+
+		platform.postCommandRegistration(resultantNode, aliasNodes);
+	}
+
+	// Links commandName -> Executor and commandName -> branches
+	private LiteralArgumentBuilder<Source> linkTreeRoot(LiteralArgumentBuilder<Source> builder, Command<Source> command,
+			List<ArgumentBuilder<Source, ?>> branches) {
+		if (command != null) {
+			builder.executes(command);
+		}
+		for (ArgumentBuilder<Source, ?> branch : branches) {
+			builder.then(branch);
+		}
+		return builder;
+	}
 	/**
 	 * Checks for duplicate argument node names and logs them as errors in the
 	 * console
@@ -702,28 +910,6 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		return true;
 	}
 	
-	private void writeDispatcherToFile() {
-		File file = CommandAPI.getConfiguration().getDispatcherFile();
-		if (file != null) {
-			try {
-				file.getParentFile().mkdirs();
-				if (file.createNewFile()) {
-					// Cool, we've created the file
-					assert true;
-				}
-			} catch (IOException e) {
-				CommandAPI.logError("Failed to create the required directories for " + file.getName() + ": " + e.getMessage());
-				return;
-			}
-
-			try {
-				platform.createDispatcherFile(file, platform.getBrigadierDispatcher());
-			} catch (IOException e) {
-				CommandAPI.logError("Failed to write command registration info to " + file.getName() + ": " + e.getMessage());
-			}
-		}
-	}
-
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
 	// SECTION: Argument Builders //
 	//////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -747,8 +933,7 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	LiteralArgumentBuilder<Source> getLiteralArgumentBuilderArgument(String commandName, CommandPermission permission, Predicate<CommandSender> requirements) {
 		LiteralArgumentBuilder<Source> builder = LiteralArgumentBuilder.literal(commandName);
-		return builder.requires((Source css) -> permissionCheck(platform.getCommandSenderFromCommandSource(css),
-				permission, requirements));
+		return builder.requires((Source css) -> permissionDecisions.test(css, permission, requirements));
 	}
 
 	// Gets a RequiredArgumentBuilder for a DynamicSuggestedStringArgument
@@ -797,57 +982,76 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		RequiredArgumentBuilder<Source, ?> requiredArgumentBuilder = RequiredArgumentBuilder
 				.argument(argument.getNodeName(), argument.getRawType());
 
-		return requiredArgumentBuilder.requires(css -> permissionCheck(platform.getCommandSenderFromCommandSource(css),
+		return requiredArgumentBuilder.requires(css -> permissionDecisions.test(css,
 				argument.getArgumentPermission(), argument.getRequirements())).suggests(newSuggestionsProvider);
 	}
 
-	CommandArguments generatePreviousArguments(CommandContext<Source> context, Argument[] args, String nodeName)
-			throws CommandSyntaxException {
-		// Populate Object[], which is our previously filled arguments
-		List<Object> previousArguments = new ArrayList<>();
-
-		// LinkedHashMap for arguments
-		Map<String, Object> argsMap = new LinkedHashMap<>();
+	CommandArguments generatePreviousArguments(CommandContext<Source> context, Argument[] args, String nodeName, ArgumentIndex argumentIndex) {
+		// Previous arguments are only parsed if the suggestions read them, since
+		// most suggestions don't, and some arguments (like entity selectors) are
+		// expensive to parse on every keystroke
+		@SuppressWarnings("unchecked")
+		final Argument[] previousArgs = (Argument[]) new AbstractArgument[argumentIndex.size()];
+		LazyArguments previousArguments = new LazyArguments(argumentIndex, () -> "/" + context.getInput(),
+			(slot, previousArgsView) -> {
+				Argument arg = previousArgs[slot];
+				try {
+					return parseArgument(context, arg.getNodeName(), arg, previousArgsView);
+				} catch (IllegalArgumentException | CommandSyntaxException e) {
+					/*
+					 * Redirected commands don't parse previous arguments properly. Simplest way to
+					 * determine what we should do is simply set it to null, since there's nothing
+					 * else we can do. I thought about letting this simply be an empty array, but
+					 * then it's even more annoying to deal with - I wouldn't expect an array of
+					 * size n to suddenly, randomly be 0, but I would expect random NPEs because
+					 * let's be honest, this is Java we're dealing with.
+					 *
+					 * Arguments that can't be parsed are treated the same way, since the
+					 * suggestions that read them can't be stopped part way through.
+					 */
+					return null;
+				}
+			});
 
 		for (Argument arg : args) {
 			if (arg.getNodeName().equals(nodeName) && !(arg instanceof Literal)) {
 				break;
 			}
-
-			Object result;
-			try {
-				result = parseArgument(context, arg.getNodeName(), arg, new CommandArguments(previousArguments.toArray(), argsMap, "/" + context.getInput()));
-			} catch (IllegalArgumentException e) {
-				/*
-				 * Redirected commands don't parse previous arguments properly. Simplest way to
-				 * determine what we should do is simply set it to null, since there's nothing
-				 * else we can do. I thought about letting this simply be an empty array, but
-				 * then it's even more annoying to deal with - I wouldn't expect an array of
-				 * size n to suddenly, randomly be 0, but I would expect random NPEs because
-				 * let's be honest, this is Java we're dealing with.
-				 */
-				result = null;
-			}
 			if (arg.isListed()) {
-				previousArguments.add(result);
-				argsMap.put(arg.getNodeName(), result);
+				previousArgs[previousArguments.count()] = arg;
+				previousArguments.appendUnparsed();
 			}
 		}
-		return new CommandArguments(previousArguments.toArray(), argsMap, "/" + context.getInput());
+		return previousArguments;
 	}
 
 	SuggestionProvider<Source> toSuggestions(Argument theArgument, Argument[] args,
 			boolean overrideSuggestions) {
+		final ArgumentIndex argumentIndex = createArgumentIndex(args);
 		return (CommandContext<Source> context, SuggestionsBuilder builder) -> {
 			// Construct the suggestion info
+			CommandArguments previousArguments = generatePreviousArguments(context, args, theArgument.getNodeName(), argumentIndex);
 			SuggestionInfo<CommandSender> suggestionInfo = new SuggestionInfo<>(platform.getCommandSenderFromCommandSource(context.getSource()).getSource(),
-					generatePreviousArguments(context, args, theArgument.getNodeName()), builder.getInput(), builder.getRemaining());
+					previousArguments, builder.getInput(), builder.getRemaining());
 
 			// Get the suggestions
 			Optional<ArgumentSuggestions<CommandSender>> suggestionsToAddOrOverride = overrideSuggestions
 					? theArgument.getOverriddenSuggestions()
 					: theArgument.getIncludedSuggestions();
-			return suggestionsToAddOrOverride.orElse(ArgumentSuggestions.empty()).suggest(suggestionInfo, builder);
+			ArgumentSuggestions<CommandSender> suggestions = suggestionsToAddOrOverride.orElse(ArgumentSuggestions.empty());
+
+			if (suggestionScheduler.isEnabled()) {
+				// Previous arguments are always parsed on this thread, because parsing
+				// some of them (like entity selectors) looks at the world
+				previousArguments.parseAll();
+
+				// The builder may be shared with other suggestion providers on this
+				// thread, so the background thread gets its own
+				SuggestionsBuilder asyncBuilder = builder.createOffset(builder.getStart());
+				return suggestionScheduler.schedule(suggestionInfo.sender(), asyncBuilder, () -> suggestions.suggest(suggestionInfo, asyncBuilder));
+			} else {
+				return suggestions.suggest(suggestionInfo, builder);
+			}
 		};
 	}
 
@@ -915,9 +1119,9 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public static Field getField(Class<?> clazz, String name, String mojangMappedName) {
 		ClassCache key = new ClassCache(clazz, name, mojangMappedName);
-		if (FIELDS.containsKey(key)) {
-			return FIELDS.get(key);
-		} else {
+		// Fields that couldn't be found return null, which isn't stored, so they
+		// are looked up again next time
+		return FIELDS.computeIfAbsent(key, k -> {
 			Field result;
 			try {
 				result = clazz.getDeclaredField(SafeVarHandle.USING_MOJANG_MAPPINGS ? mojangMappedName : name);
@@ -926,9 +1130,8 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 				return null;
 			}
 			result.setAccessible(true);
-			FIELDS.put(key, result);
 			return result;
-		}
+		});
 	}
 
 	//////////////////////////////
@@ -945,53 +1148,203 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	}
 
 	/**
-	 * A class to compute the Cartesian product of a number of lists. Source:
-	 * https://www.programmersought.com/article/86195393650/
+	 * Parses an argument of {@link LazyArguments} the first time it is read
+	 */
+	@FunctionalInterface
+	private interface LazyArgumentParser {
+		/**
+		 * @param slot         the position of the argument to parse
+		 * @param previousArgs the arguments before the argument being parsed
+		 * @return the parsed argument
+		 * @throws CommandSyntaxException if the argument can't be parsed
+		 */
+		Object parse(int slot, CommandArguments previousArgs) throws CommandSyntaxException;
+	}
+
+	/**
+	 * {@link CommandArguments} that are filled in while a command's arguments are
+	 * being parsed
+	 */
+	private static class ParsedArguments extends CommandArguments {
+
+		ParsedArguments(ArgumentIndex index, Supplier<String> fullInput) {
+			super(index, fullInput);
+		}
+
+		ParsedArguments(CommandArguments arguments, int count) {
+			super(arguments, count);
+		}
+
+		// Makes append visible to CommandAPIHandler
+		@Override
+		protected void append(Object value) {
+			super.append(value);
+		}
+
+	}
+
+	/**
+	 * {@link ParsedArguments} where arguments added with {@link #appendUnparsed()}
+	 * are parsed the first time they are read, on the thread that reads them, and
+	 * then remembered. Reads are synchronized, so each argument is only parsed
+	 * once even if it is read from more than one thread.
 	 */
-	private static final class CartesianProduct {
+	private static final class LazyArguments extends ParsedArguments {
+
+		// Marks arguments that haven't been parsed yet
+		private static final Object UNPARSED = new Object();
 
-		// Shouldn't be instantiated
-		private CartesianProduct() {
+		private final LazyArguments parent;
+		private final LazyArgumentParser parser;
+
+		LazyArguments(ArgumentIndex index, Supplier<String> fullInput, LazyArgumentParser parser) {
+			super(index, fullInput);
+			this.parent = null;
+			this.parser = parser;
+		}
+
+		// The arguments before an argument that is being parsed lazily
+		private LazyArguments(LazyArguments parent, int count) {
+			super(parent, count);
+			this.parent = parent;
+			this.parser = null;
+		}
+
+		void appendUnparsed() {
+			super.append(UNPARSED);
+		}
+
+		@Override
+		protected Object valueAt(int slot) {
+			if (parent != null) {
+				return parent.valueAt(slot);
+			}
+
+			synchronized (this) {
+				Object value = super.valueAt(slot);
+				if (value == UNPARSED) {
+					try {
+						value = parser.parse(slot, new LazyArguments(this, slot));
+					} catch (CommandSyntaxException e) {
+						throw new LazyArgumentParseException(e);
+					}
+					set(slot, value);
+				}
+				return value;
+			}
+		}
+
+		@Override
+		public void parseAll() {
+			for (int i = 0; i < count(); i++) {
+				valueAt(i);
+			}
 		}
 
+		@Override
+		public Object[] args() {
+			parseAll();
+			return super.args();
+		}
+
+	}
+
+	/**
+	 * Splits the input of a converted command into its arguments, the same way
+	 * {@code input.split(" ")} would, but without the command name and without
+	 * any intermediate lists
+	 *
+	 * @param input the input of the command, including the command name
+	 * @return the arguments of the command
+	 */
+	static String[] splitConvertedArguments(String input) {
+		// Like String.split, trailing empty strings are removed
+		int end = input.length();
+		while (end > 0 && input.charAt(end - 1) == ' ') {
+			end--;
+		}
+
+		int count = 0;
+		for (int i = 0; i < end; i++) {
+			if (input.charAt(i) == ' ') {
+				count++;
+			}
+		}
+
+		String[] result = new String[count];
+		int start = input.indexOf(' ') + 1;
+		for (int i = 0; i < count; i++) {
+			int next = input.indexOf(' ', start);
+			if (next == -1 || next > end) {
+				next = end;
+			}
+			result[i] = input.substring(start, next);
+			start = next + 1;
+		}
+		return result;
+	}
+
+	/**
+	 * Iterates over the Cartesian product of a number of lists, one combination
+	 * at a time. Only the position in each list is stored, so the product is
+	 * never materialized.
+	 */
+	static final class CartesianProduct {
+
+		private final List<String>[] lists;
+		private final int[] positions;
+		private boolean hasNext;
+
 		/**
-		 * Returns the Cartesian product of a list of lists
-		 * 
-		 * @param <T>  the underlying type of the list of lists
-		 * @param list the list to calculate the Cartesian product of
-		 * @return a List of lists which represents the Cartesian product of all
-		 *         elements of the input
+		 * @param lists the lists to calculate the Cartesian product of
 		 */
-		public static <T> List<List<T>> getDescartes(List<List<T>> list) {
-			List<List<T>> returnList = new ArrayList<>();
-			descartesRecursive(list, 0, returnList, new ArrayList<T>());
-			return returnList;
+		CartesianProduct(List<String>[] lists) {
+			this.lists = lists;
+			this.positions = new int[lists.length];
+
+			// If any list is empty, there are no combinations
+			boolean empty = false;
+			for (List<String> list : lists) {
+				empty |= list.isEmpty();
+			}
+			this.hasNext = !empty;
 		}
 
 		/**
-		 * Recursive implementation Principle: traverse sequentially from 0 of the
-		 * original list to the end
-		 * 
-		 * @param <T>          the underlying type of the list of lists
-		 * @param originalList original list
-		 * @param position     The position of the current recursion in the original
-		 *                     list
-		 * @param returnList   return result
-		 * @param cacheList    temporarily saved list
+		 * @return whether there are any combinations left
 		 */
-		private static <T> void descartesRecursive(List<List<T>> originalList, int position,
-				List<List<T>> returnList, List<T> cacheList) {
-			List<T> originalItemList = originalList.get(position);
-			for (int i = 0; i < originalItemList.size(); i++) {
-				// The last one reuses cacheList to save memory
-				List<T> childCacheList = (i == originalItemList.size() - 1) ? cacheList : new ArrayList<>(cacheList);
-				childCacheList.add(originalItemList.get(i));
-				if (position == originalList.size() - 1) {// Exit recursion to the end
-					returnList.add(childCacheList);
-					continue;
+		boolean hasNext() {
+			return hasNext;
+		}
+
+		/**
+		 * Writes the next combination into {@code buffer}. Null elements are
+		 * skipped, leaving the value that is already in the buffer. If the buffer
+		 * isn't the same length as the number of lists, it is left unchanged.
+		 *
+		 * @param buffer the array to write the combination into
+		 */
+		void next(String[] buffer) {
+			if (!hasNext) {
+				throw new NoSuchElementException();
+			}
+
+			if (buffer.length == lists.length) {
+				for (int i = 0; i < lists.length; i++) {
+					String element = lists[i].get(positions[i]);
+					if (element != null) {
+						buffer[i] = element;
+					}
 				}
-				descartesRecursive(originalList, position + 1, returnList, childCacheList);
 			}
+
+			// Advance to the next combination. The last list changes the fastest
+			int i = lists.length - 1;
+			while (i >= 0 && ++positions[i] == lists[i].size()) {
+				positions[i] = 0;
+				i--;
+			}
+			hasNext = i >= 0;
 		}
 
 	}
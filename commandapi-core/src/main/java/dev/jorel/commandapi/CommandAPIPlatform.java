@@ -12,6 +12,7 @@ import dev.jorel.commandapi.commandsenders.AbstractPlayer;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -80,6 +81,18 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public abstract AbstractCommandSender<? extends CommandSender> wrapCommandSender(CommandSender sender);
 
+	/**
+	 * Returns an object that identifies a CommandSender in cache keys. Platforms
+	 * should return an id for senders like players, so caches don't keep them
+	 * loaded after they leave
+	 *
+	 * @param sender The CommandSender to identify
+	 * @return An object that equals the key of the same CommandSender. By default, the CommandSender itself
+	 */
+	public default Object getSenderKey(CommandSender sender) {
+		return sender;
+	}
+
 	// Registers a permission. Bukkit's permission system requires permissions to be "registered"
 	// before they can be used.
 	public abstract void registerPermission(String string);
@@ -134,6 +147,18 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public abstract void createDispatcherFile(File file, CommandDispatcher<Source> dispatcher) throws IOException;
 
+	/**
+	 * Runs a task on the server's main thread, which is where commands are
+	 * registered and the Brigadier dispatcher is changed.
+	 *
+	 * @param task The task to run
+	 * @return True if the task will be run, or false if it can't be, for example
+	 *         because this platform doesn't have a main thread
+	 */
+	public default boolean scheduleOnMainThread(Runnable task) {
+		return false;
+	}
+
 	/**
 	 * @return A new default Logger meant for the CommandAPI to use
 	 */
@@ -179,6 +204,19 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 */
 	public abstract void updateRequirements(AbstractPlayer<?> player);
 
+	/**
+	 * Updates the requirements required for some players to execute commands.
+	 * Platforms can override this to share work between players that can use
+	 * the same commands.
+	 *
+	 * @param players the players to update
+	 */
+	public default void updateRequirements(Collection<? extends AbstractPlayer<?>> players) {
+		for (AbstractPlayer<?> player : players) {
+			updateRequirements(player);
+		}
+	}
+
 	// Create the concrete instances of objects implemented by the platform
 	public abstract AbstractCommandAPICommand<?, Argument, CommandSender> newConcreteCommandAPICommand(CommandMetaData<CommandSender> meta);
 
@@ -0,0 +1,206 @@
+package dev.jorel.commandapi;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.tree.CommandNode;
+
+/**
+ * Writes Brigadier's command tree to the dispatcher file set by
+ * {@link CommandAPIConfig#dispatcherFile(File)}. By default, the file is
+ * rewritten after every command registration. If
+ * {@link CommandAPIConfig#batchDispatcherFileWrites(boolean)} is enabled,
+ * registrations only mark the file as out of date, and the file is written once
+ * when command registration stops, or after a quiet period. Quiet period writes
+ * run on the server's main thread, so the command tree can't change while it
+ * is being written.
+ *
+ * @param <Source> The class for running Brigadier commands
+ */
+class DispatcherFileWriter<Source> {
+
+	private final CommandAPIPlatform<?, ?, Source> platform;
+
+	// Lazily created, because most servers never use a quiet period
+	private ScheduledExecutorService scheduler;
+	private ScheduledFuture<?> pendingWrite;
+	private boolean dirty;
+	private boolean flushed;
+
+	DispatcherFileWriter(CommandAPIPlatform<?, ?, Source> platform) {
+		this.platform = platform;
+	}
+
+	/**
+	 * Notifies this writer that a command has been registered. This writes the
+	 * dispatcher file straight away, unless writes are being batched.
+	 */
+	synchronized void onCommandRegistered() {
+		InternalConfig config = CommandAPI.getConfiguration();
+		if (config.getDispatcherFile() == null) {
+			return;
+		}
+
+		// Commands registered after the batch has been flushed are written straight
+		// away, because there won't be another chance to write them
+		if (!config.shouldBatchDispatcherFileWrites() || flushed || !CommandAPI.canRegister()) {
+			write(false);
+			return;
+		}
+
+		dirty = true;
+		long quietPeriod = config.getDispatcherFileQuietPeriod();
+		if (quietPeriod > 0) {
+			if (pendingWrite != null) {
+				pendingWrite.cancel(false);
+			}
+			// Commands are registered on the main thread, so the tree is only walked there
+			pendingWrite = getScheduler().schedule(() -> platform.scheduleOnMainThread(this::writeIfDirty),
+				quietPeriod, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Writes the dispatcher file if any commands were registered since it was last
+	 * written. This is called when command registration stops, or on platforms
+	 * where registration never stops, when the CommandAPI is enabled. Commands
+	 * registered after this are written straight away.
+	 */
+	synchronized void flush() {
+		if (pendingWrite != null) {
+			pendingWrite.cancel(false);
+			pendingWrite = null;
+		}
+		flushed = true;
+		writeIfDirty();
+	}
+
+	/**
+	 * Cancels any pending write and stops the background thread, if one was
+	 * started.
+	 */
+	synchronized void shutdown() {
+		if (pendingWrite != null) {
+			pendingWrite.cancel(false);
+			pendingWrite = null;
+		}
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+	private synchronized void writeIfDirty() {
+		if (dirty) {
+			write(true);
+		}
+	}
+
+	private ScheduledExecutorService getScheduler() {
+		if (scheduler == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "CommandAPI dispatcher file writer");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return scheduler;
+	}
+
+	private void write(boolean batched) {
+		File file = CommandAPI.getConfiguration().getDispatcherFile();
+		try {
+			file.getParentFile().mkdirs();
+			if (file.createNewFile()) {
+				// Cool, we've created the file
+				assert true;
+			}
+		} catch (IOException e) {
+			CommandAPI.logError("Failed to create the required directories for " + file.getName() + ": " + e.getMessage());
+			return;
+		}
+
+		long startTime = System.nanoTime();
+		try {
+			platform.createDispatcherFile(file, platform.getBrigadierDispatcher());
+		} catch (IOException e) {
+			CommandAPI.logError("Failed to write command registration info to " + file.getName() + ": " + e.getMessage());
+			return;
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		dirty = false;
+
+		// Counting nodes walks the whole tree, so only do it if we're going to log it
+		if (batched || CommandAPI.getConfiguration().hasVerboseOutput()) {
+			String message = "Wrote %d command nodes (%d bytes) to %s in %dms".formatted(
+				countNodes(platform.getBrigadierDispatcher().getRoot()), file.length(), file.getName(), elapsedMillis);
+			if (batched) {
+				CommandAPI.logNormal(message);
+			} else {
+				CommandAPI.logInfo(message);
+			}
+		}
+	}
+
+	/**
+	 * Writes Brigadier's command tree to a JSON file, one top-level command at a
+	 * time. This produces the same output as pretty-printing the serialized root
+	 * node with Gson, but only ever holds the JSON tree of a single command in
+	 * memory instead of the JSON tree for every command on the server.
+	 *
+	 * @param file           the JSON file to write to
+	 * @param dispatcher     the Brigadier CommandDispatcher
+	 * @param nodeSerializer a function that serializes a command node (and its
+	 *                       children) to JSON
+	 * @throws IOException when the file fails to be written to
+	 */
+	static <Source> void writeCommandTree(File file, CommandDispatcher<Source> dispatcher,
+		BiFunction<CommandDispatcher<Source>, CommandNode<Source>, JsonObject> nodeSerializer) throws IOException {
+		final Gson gson = new Gson();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+			JsonWriter jsonWriter = new JsonWriter(writer)) {
+			// Match GsonBuilder#setPrettyPrinting
+			jsonWriter.setIndent("  ");
+			jsonWriter.setHtmlSafe(true);
+
+			jsonWriter.beginObject();
+			jsonWriter.name("type").value("root");
+			Collection<CommandNode<Source>> children = dispatcher.getRoot().getChildren();
+			if (!children.isEmpty()) {
+				jsonWriter.name("children").beginObject();
+				for (CommandNode<Source> child : children) {
+					jsonWriter.name(child.getName());
+					gson.toJson(nodeSerializer.apply(dispatcher, child), jsonWriter);
+				}
+				jsonWriter.endObject();
+			}
+			jsonWriter.endObject();
+		}
+	}
+
+	private static int countNodes(CommandNode<?> node) {
+		// Redirects aren't followed, so this is always a tree
+		int count = 1;
+		for (CommandNode<?> child : node.getChildren()) {
+			count += countNodes(child);
+		}
+		return count;
+	}
+
+}
@@ -27,7 +27,9 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 	 * Register a command with the given arguments and executor to brigadier, by converting it into a {@link AbstractCommandAPICommand}
 	 *
 	 * @param meta The metadata to register the command with
+	 * @deprecated Command trees no longer register their executions one at a time, so this is no longer used by the CommandAPI
 	 */
+	@Deprecated(since = "9.0.3", forRemoval = true)
 	public void register(CommandMetaData<CommandSender> meta) {
 		@SuppressWarnings("unchecked")
 		CommandAPIPlatform<Argument, CommandSender, ?> platform = (CommandAPIPlatform<Argument, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
@@ -37,6 +39,34 @@ extends AbstractArgument<?, ?, Argument, CommandSender>
 		command.register();
 	}
 
+	/**
+	 * Checks the arguments of this execution and expands its optional arguments,
+	 * in the same way as {@link #register(CommandMetaData)}, but without
+	 * registering anything
+	 *
+	 * @param meta The metadata the command would be registered with
+	 * @return every array of arguments that this execution would be registered with
+	 */
+	List<Argument[]> getArgumentsToRegister(CommandMetaData<CommandSender> meta) {
+		@SuppressWarnings("unchecked")
+		CommandAPIPlatform<Argument, CommandSender, ?> platform = (CommandAPIPlatform<Argument, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
+		AbstractCommandAPICommand<?, Argument, CommandSender> command = platform.newConcreteCommandAPICommand(meta);
+		command.withArguments(this.arguments);
+		return command.getArgumentsToRegister();
+	}
+
+	CommandAPIExecutor<CommandSender, AbstractCommandSender<? extends CommandSender>> getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Creates a new execution with an argument before the arguments of this execution
+	 *
+	 * @param argument The argument to add before the arguments of this execution
+	 * @return a new execution with the given argument first
+	 * @deprecated Command trees no longer build their executions by prepending arguments, so this is no longer used by the CommandAPI
+	 */
+	@Deprecated(since = "9.0.3", forRemoval = true)
 	public Execution<CommandSender, Argument> prependedBy(Argument argument) {
 		List<Argument> args = new ArrayList<>();
 		args.add(argument);
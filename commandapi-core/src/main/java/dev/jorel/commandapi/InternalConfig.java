@@ -46,6 +46,24 @@ public class InternalConfig {
 	// Create a command_registration.json file
 	private final File dispatcherFile;
 
+	// Only write the command_registration.json file once registration has finished
+	private final boolean batchDispatcherFileWrites;
+
+	// How long to wait after the last registration before writing the command_registration.json file
+	private final long dispatcherFileQuietPeriod;
+
+	// Calculate suggestions on background threads
+	private final boolean asyncSuggestions;
+
+	// The number of threads to calculate suggestions on, or 0 to use virtual threads
+	private final int asyncSuggestionThreads;
+
+	// How long suggestions may take to calculate on a background thread
+	private final long asyncSuggestionTimeout;
+
+	// Only parse arguments after the last custom argument when an executor reads them
+	private final boolean lazyArgumentParsing;
+
 	// List of plugins which should ignore proxied senders
 	private final List<String> skipSenderProxy;
 
@@ -64,6 +82,12 @@ public class InternalConfig {
 		this.useLatestNMSVersion = config.useLatestNMSVersion;
 		this.message_missingExecutorImplementation = config.missingExecutorImplementationMessage;
 		this.dispatcherFile = config.dispatcherFile;
+		this.batchDispatcherFileWrites = config.batchDispatcherFileWrites;
+		this.dispatcherFileQuietPeriod = config.dispatcherFileQuietPeriod;
+		this.asyncSuggestions = config.asyncSuggestions;
+		this.asyncSuggestionThreads = config.asyncSuggestionThreads;
+		this.asyncSuggestionTimeout = config.asyncSuggestionTimeout;
+		this.lazyArgumentParsing = config.lazyArgumentParsing;
 		this.skipSenderProxy = config.skipSenderProxy;
 		this.nbtContainerClass = config.nbtContainerClass;
 		this.nbtContainerConstructor = config.nbtContainerConstructor;
@@ -106,6 +130,55 @@ public class InternalConfig {
 		return this.dispatcherFile;
 	}
 
+	/**
+	 * @return Whether the dispatcher file should only be written once command
+	 *         registration has finished
+	 */
+	public boolean shouldBatchDispatcherFileWrites() {
+		return this.batchDispatcherFileWrites;
+	}
+
+	/**
+	 * @return The number of milliseconds to wait after the last command
+	 *         registration before writing the dispatcher file, or 0 if the
+	 *         dispatcher file should only be written when command registration
+	 *         stops
+	 */
+	public long getDispatcherFileQuietPeriod() {
+		return this.dispatcherFileQuietPeriod;
+	}
+
+	/**
+	 * @return Whether suggestions should be calculated on background threads
+	 */
+	public boolean shouldRunSuggestionsAsync() {
+		return this.asyncSuggestions;
+	}
+
+	/**
+	 * @return The number of threads to calculate suggestions on, or 0 if virtual
+	 *         threads should be used when available
+	 */
+	public int getAsyncSuggestionThreads() {
+		return this.asyncSuggestionThreads;
+	}
+
+	/**
+	 * @return The number of milliseconds that suggestions may take to calculate on
+	 *         a background thread
+	 */
+	public long getAsyncSuggestionTimeout() {
+		return this.asyncSuggestionTimeout;
+	}
+
+	/**
+	 * @return Whether arguments after the last custom argument should only be
+	 *         parsed when an executor reads them
+	 */
+	public boolean shouldParseArgumentsLazily() {
+		return this.lazyArgumentParsing;
+	}
+
 	/**
 	 * @param commandName A command where sender proxying should be skipped
 	 * @return Whether sender proxying should be skipped for a given command
@@ -0,0 +1,114 @@
+package dev.jorel.commandapi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import dev.jorel.commandapi.commandsenders.AbstractCommandSender;
+import dev.jorel.commandapi.commandsenders.AbstractPlayer;
+
+/**
+ * Remembers which {@link CommandPermission}s a player has for about one server
+ * tick. When the server sends the command tree to a player, it checks the
+ * requirements of every node for the same player, so each permission only has
+ * to be checked once, instead of once for every node. Other senders, like
+ * command blocks, are usually only checked for one command, so their
+ * permissions are not cached.
+ * <p>
+ * Players are remembered by their {@link CommandAPIPlatform#getSenderKey sender key}.
+ * The requirements of a node are not cached, because they can depend on
+ * anything. A player's cached permissions are forgotten when
+ * {@link CommandAPI#updateRequirements(Object)} is called for them, or when
+ * they leave. Bukkit doesn't fire an event when a player's permissions are
+ * recalculated, so a permission plugin that doesn't call updateRequirements
+ * may see an old decision for up to one tick.
+ *
+ * @param <Source>        The class for running Brigadier commands
+ * @param <CommandSender> The CommandSender class used by the class extending
+ *                        this class
+ */
+class PermissionDecisionCache<Source, CommandSender> {
+
+	// Permissions can change at any time, so don't remember them for more than a tick
+	private static final long TIME_TO_LIVE = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private static final class Decisions {
+		final long expiresAt;
+		final Map<CommandPermission, Boolean> permissions = new ConcurrentHashMap<>();
+
+		Decisions(long expiresAt) {
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final Function<Source, AbstractCommandSender<? extends CommandSender>> senderFunction;
+	private final Function<CommandSender, Object> senderKeyFunction;
+
+	private final Map<Object, Decisions> decisions = new ConcurrentHashMap<>();
+	private volatile long nextCleanup = System.nanoTime();
+
+	PermissionDecisionCache(Function<Source, AbstractCommandSender<? extends CommandSender>> senderFunction,
+		Function<CommandSender, Object> senderKeyFunction) {
+		this.senderFunction = senderFunction;
+		this.senderKeyFunction = senderKeyFunction;
+	}
+
+	/**
+	 * Checks if a command source has a permission and satisfies some requirements
+	 *
+	 * @param source       the command source to check
+	 * @param permission   the permission to check
+	 * @param requirements the requirements to check. These are always tested
+	 * @return true if the source has the permission and satisfies the requirements
+	 */
+	boolean test(Source source, CommandPermission permission, Predicate<CommandSender> requirements) {
+		final AbstractCommandSender<? extends CommandSender> sender = source == null ? null : senderFunction.apply(source);
+		if (!(sender instanceof AbstractPlayer<?>)) {
+			return CommandAPIHandler.permissionCheck(sender, permission, requirements);
+		}
+
+		final Object key = senderKeyFunction.apply(sender.getSource());
+		final long now = System.nanoTime();
+		Decisions playerDecisions = decisions.get(key);
+		if (playerDecisions == null || now - playerDecisions.expiresAt >= 0) {
+			removeExpired(now);
+			playerDecisions = new Decisions(now + TIME_TO_LIVE);
+			decisions.put(key, playerDecisions);
+		}
+
+		Boolean hasPermission = playerDecisions.permissions.get(permission);
+		if (hasPermission == null) {
+			hasPermission = CommandAPIHandler.hasPermission(sender, permission);
+			playerDecisions.permissions.put(permission, hasPermission);
+		}
+		return hasPermission && requirements.test(sender.getSource());
+	}
+
+	/**
+	 * Forgets the cached permissions of one player, for example because their
+	 * permissions have changed or they left
+	 *
+	 * @param senderKey the {@link CommandAPIPlatform#getSenderKey sender key} of the player
+	 */
+	void invalidate(Object senderKey) {
+		decisions.remove(senderKey);
+	}
+
+	/**
+	 * Forgets all cached permissions
+	 */
+	void invalidateAll() {
+		decisions.clear();
+	}
+
+	private void removeExpired(long now) {
+		if (now - nextCleanup < 0) {
+			return;
+		}
+		nextCleanup = now + TIME_TO_LIVE;
+		decisions.values().removeIf(playerDecisions -> now - playerDecisions.expiresAt >= 0);
+	}
+
+}
@@ -0,0 +1,121 @@
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.jorel.commandapi.arguments.AbstractArgument;
+
+/**
+ * Keeps track of every command registered by the CommandAPI. Commands are
+ * indexed by their name, and the arguments of every command with the same name
+ * are merged into a tree keyed by node name (the same way Brigadier merges
+ * them), so checking a new command for conflicts only has to walk its own
+ * arguments, instead of every command registered before it.
+ */
+class RegisteredCommandIndex {
+
+	/**
+	 * An argument of a registered command
+	 *
+	 * @param nodeName      the node name of the argument
+	 * @param argumentClass the class of the argument, for example
+	 *                      {@code IntegerArgument}
+	 */
+	record RegisteredArgument(String nodeName, Class<?> argumentClass) {
+	}
+
+	private static class ArgumentPathNode {
+		final Class<?> argumentClass;
+
+		// The arguments of the command that first registered this node, used to
+		// describe the command that a new command conflicts with
+		final RegisteredArgument[] registeredBy;
+
+		final Map<String, ArgumentPathNode> children = new HashMap<>();
+
+		ArgumentPathNode(Class<?> argumentClass, RegisteredArgument[] registeredBy) {
+			this.argumentClass = argumentClass;
+			this.registeredBy = registeredBy;
+		}
+	}
+
+	private final List<RegisteredCommand> commands = new ArrayList<>();
+	private final List<RegisteredCommand> commandsView = Collections.unmodifiableList(commands);
+	private final Map<String, List<RegisteredCommand>> commandsByName = new HashMap<>();
+	private final Map<String, ArgumentPathNode> argumentTrees = new HashMap<>();
+
+	/**
+	 * @return an unmodifiable view of every registered command, in the order
+	 *         they were registered
+	 */
+	List<RegisteredCommand> asList() {
+		return commandsView;
+	}
+
+	/**
+	 * @param commandName the name of a command, without any leading {@code /}
+	 * @return every registered command with this name, in the order they were
+	 *         registered
+	 */
+	List<RegisteredCommand> getByName(String commandName) {
+		List<RegisteredCommand> result = commandsByName.get(commandName);
+		return result == null ? List.of() : Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Finds a previously registered command that the given command conflicts
+	 * with. Two commands conflict if the last argument of the new command has
+	 * the same node name and path as an existing argument, but is a different
+	 * type of argument. For example, {@code /race invite player<PlayerArgument>}
+	 * conflicts with {@code /race invite player<EntitySelectorArgument>}.
+	 *
+	 * @param commandName the name of the new command
+	 * @param args        the arguments of the new command
+	 * @return the arguments of the command that the new command conflicts with,
+	 *         or {@code null} if there is no conflict
+	 */
+	RegisteredArgument[] findConflict(String commandName, AbstractArgument<?, ?, ?, ?>[] args) {
+		ArgumentPathNode node = argumentTrees.get(commandName);
+		if (node == null) {
+			return null;
+		}
+
+		for (int i = 0; i < args.length; i++) {
+			node = node.children.get(args[i].getNodeName());
+			if (node == null) {
+				return null;
+			}
+		}
+
+		// This only applies to the last argument
+		if (args.length > 0 && node.argumentClass != args[args.length - 1].getClass()) {
+			return node.registeredBy;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a command to this index
+	 *
+	 * @param command the command to add
+	 * @param args    the arguments of the command
+	 */
+	void add(RegisteredCommand command, AbstractArgument<?, ?, ?, ?>[] args) {
+		commands.add(command);
+		commandsByName.computeIfAbsent(command.commandName(), name -> new ArrayList<>()).add(command);
+
+		RegisteredArgument[] registeredArguments = new RegisteredArgument[args.length];
+		for (int i = 0; i < args.length; i++) {
+			registeredArguments[i] = new RegisteredArgument(args[i].getNodeName(), args[i].getClass());
+		}
+
+		ArgumentPathNode node = argumentTrees.computeIfAbsent(command.commandName(), name -> new ArgumentPathNode(null, registeredArguments));
+		for (RegisteredArgument argument : registeredArguments) {
+			node = node.children.computeIfAbsent(argument.nodeName(), name -> new ArgumentPathNode(argument.argumentClass(), registeredArguments));
+		}
+	}
+
+}
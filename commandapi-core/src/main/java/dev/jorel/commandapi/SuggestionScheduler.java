@@ -0,0 +1,200 @@
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+
+/**
+ * Calculates suggestions on background threads if
+ * {@link CommandAPIConfig#asyncSuggestions(boolean)} is enabled. Only the
+ * latest request from each sender for each command is calculated: when a
+ * sender types another character, suggestions for what they typed before are
+ * stopped and replaced with no suggestions. Suggestions that take longer than
+ * {@link CommandAPIConfig#asyncSuggestionTimeout(long)} are replaced with no
+ * suggestions.
+ */
+class SuggestionScheduler {
+
+	// Requests that wait for longer than this are unlikely to still be useful
+	private static final int MAX_QUEUED_REQUESTS = 1024;
+
+	/**
+	 * The suggestions being calculated for one input from one sender. More than
+	 * one argument can be suggested for the same input, for example if a command
+	 * has several arguments after a literal.
+	 */
+	private static final class Request {
+		final String input;
+		final List<Future<?>> tasks = new ArrayList<>();
+		final List<CompletableFuture<Suggestions>> results = new ArrayList<>();
+		final List<Suggestions> emptyResults = new ArrayList<>();
+
+		Request(String input) {
+			this.input = input;
+		}
+
+		void cancel() {
+			for (Future<?> task : tasks) {
+				task.cancel(true);
+			}
+			// Brigadier merges the results of every argument with allOf, so these must
+			// complete for the merged suggestions to complete
+			for (int i = 0; i < results.size(); i++) {
+				results.get(i).complete(emptyResults.get(i));
+			}
+		}
+
+		boolean isDone() {
+			for (CompletableFuture<Suggestions> result : results) {
+				if (!result.isDone()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	// Lazily created, because async suggestions are disabled by default
+	private ExecutorService executor;
+	private final Map<Object, Request> latestRequests = new ConcurrentHashMap<>();
+
+	/**
+	 * @return whether suggestions should be calculated by this scheduler
+	 */
+	boolean isEnabled() {
+		return CommandAPI.getConfiguration().shouldRunSuggestionsAsync();
+	}
+
+	/**
+	 * Calculates suggestions on a background thread
+	 *
+	 * @param sender      the sender requesting suggestions
+	 * @param builder     the builder for the suggestions being requested
+	 * @param suggestions calculates the suggestions. This is run on a background
+	 *                    thread
+	 * @return the suggestions. If the sender typed something else or the
+	 *         suggestions time out, this completes with no suggestions
+	 */
+	CompletableFuture<Suggestions> schedule(Object sender, SuggestionsBuilder builder, Callable<CompletableFuture<Suggestions>> suggestions) {
+		final String input = builder.getInput();
+		final Object key = List.of(sender, getCommandName(input));
+		final CompletableFuture<Suggestions> result = new CompletableFuture<>();
+		final Suggestions empty = builder.createOffset(builder.getStart()).build();
+
+		final Future<?> task;
+		try {
+			task = getExecutor().submit(() -> {
+				try {
+					suggestions.call().whenComplete((value, exception) -> {
+						if (exception == null) {
+							result.complete(value);
+						} else {
+							result.completeExceptionally(exception);
+						}
+					});
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Too many requests are waiting, so don't suggest anything
+			return builder.buildFuture();
+		}
+
+		// Completing the old request's results updates latestRequests, which can't
+		// be done from inside compute, so they're completed afterwards
+		final Request[] replaced = new Request[1];
+		final Request request = latestRequests.compute(key, (k, current) -> {
+			if (current == null || !current.input.equals(input)) {
+				// The sender has typed something else, so the old suggestions aren't needed
+				replaced[0] = current;
+				current = new Request(input);
+			}
+			current.tasks.add(task);
+			current.results.add(result);
+			current.emptyResults.add(empty);
+			return current;
+		});
+		if (replaced[0] != null) {
+			replaced[0].cancel();
+		}
+
+		result.completeOnTimeout(empty,
+			CommandAPI.getConfiguration().getAsyncSuggestionTimeout(), TimeUnit.MILLISECONDS);
+		result.whenComplete((value, exception) -> {
+			// Stop the task if it timed out or was replaced
+			task.cancel(true);
+			latestRequests.computeIfPresent(key, (k, current) -> current == request && current.isDone() ? null : current);
+		});
+		return result;
+	}
+
+	/**
+	 * Cancels all suggestions being calculated and stops the background threads
+	 */
+	synchronized void shutdown() {
+		List<Request> requests = new ArrayList<>(latestRequests.values());
+		latestRequests.clear();
+		for (Request request : requests) {
+			request.cancel();
+		}
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	private static String getCommandName(String input) {
+		int start = input.startsWith("/") ? 1 : 0;
+		int end = input.indexOf(' ', start);
+		return end == -1 ? input.substring(start) : input.substring(start, end);
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			int threads = CommandAPI.getConfiguration().getAsyncSuggestionThreads();
+			if (threads <= 0) {
+				executor = newVirtualThreadExecutor();
+				if (executor != null) {
+					return executor;
+				}
+				threads = Runtime.getRuntime().availableProcessors();
+			}
+
+			AtomicInteger threadCount = new AtomicInteger();
+			ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(MAX_QUEUED_REQUESTS), runnable -> {
+					Thread thread = new Thread(runnable, "CommandAPI suggestions #" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+			threadPool.allowCoreThreadTimeOut(true);
+			executor = threadPool;
+		}
+		return executor;
+	}
+
+	// Virtual threads were added in Java 21, but we still support older versions
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+}
@@ -3,10 +3,14 @@ package dev.jorel.commandapi.arguments;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.CommandAPIPlatform;
 import dev.jorel.commandapi.IStringTooltip;
 import dev.jorel.commandapi.SuggestionInfo;
 
+import java.time.Duration;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
@@ -44,25 +48,41 @@ public interface ArgumentSuggestions<CommandSender> {
 	/**
 	 * Suggest hardcoded strings
 	 *
-	 * @param suggestions array of hardcoded strings
+	 * @param suggestions array of hardcoded strings. These are copied, so later
+	 *                    changes to the array are not suggested
 	 *
 	 * @return an {@link ArgumentSuggestions} object suggesting hardcoded strings
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> strings(String... suggestions) {
-		return (info, builder) -> future(suggestionsFromStrings(builder, suggestions));
+		return indexedStrings(List.of(suggestions));
 	}
 
 	/**
-	 * Suggest hardcoded strings
+	 * Suggest strings from a collection. Changes to the collection are suggested
 	 *
-	 * @param suggestions collection of hardcoded strings
+	 * @param suggestions collection of strings
 	 *
-	 * @return an {@link ArgumentSuggestions} object suggesting hardcoded strings
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings in the collection
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> strings(Collection<String> suggestions) {
 		return (info, builder) -> future(suggestionsFromStrings(builder, suggestions));
 	}
 
+	/**
+	 * Suggest hardcoded strings, which are sorted once so that suggestions can be
+	 * found quickly. This is faster than {@link #strings(Collection)} for lots of
+	 * strings
+	 *
+	 * @param suggestions collection of hardcoded strings. These are copied, so
+	 *                    later changes to the collection are not suggested
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting hardcoded strings
+	 */
+	static <CommandSender> ArgumentSuggestions<CommandSender> indexedStrings(Collection<String> suggestions) {
+		StringSuggestionIndex index = StringSuggestionIndex.ofStrings(suggestions);
+		return (info, builder) -> future(index.suggest(builder));
+	}
+
 	/**
 	 * Suggest an array of strings as the result of a function
 	 *
@@ -93,8 +113,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting the result of the asynchronous function
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsAsync(Function<SuggestionInfo<CommandSender>, CompletableFuture<String[]>> suggestions) {
-		return (info, builder) -> suggestions
-			.apply(info)
+		return (info, builder) -> applyAsync(suggestions, info)
 			.thenApply(strings -> suggestionsFromStrings(builder, strings));
 	}
 
@@ -106,33 +125,50 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting the result of the asynchronous function
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringCollectionAsync(Function<SuggestionInfo<CommandSender>, CompletableFuture<Collection<String>>> suggestions) {
-		return (info, builder) -> suggestions
-			.apply(info)
+		return (info, builder) -> applyAsync(suggestions, info)
 			.thenApply(strings -> suggestionsFromStrings(builder, strings));
 	}
 
 	/**
 	 * Suggest hardcoded strings with tooltips
 	 *
-	 * @param suggestions collection of hardcoded strings with tooltips
+	 * @param suggestions array of hardcoded strings with tooltips. These are
+	 *                    copied, so later changes to the array are not suggested
 	 *
 	 * @return an {@link ArgumentSuggestions} object suggesting the hardcoded strings with tooltips
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsWithTooltips(IStringTooltip... suggestions) {
-		return (info, builder) -> future(suggestionsFromTooltips(builder, suggestions));
+		return indexedStringsWithTooltips(List.of(suggestions));
 	}
 
 	/**
-	 * Suggest hardcoded strings with tooltips
+	 * Suggest strings with tooltips from a collection. Changes to the collection
+	 * are suggested
 	 *
-	 * @param suggestions collection of hardcoded strings with tooltips
+	 * @param suggestions collection of strings with tooltips
 	 *
-	 * @return an {@link ArgumentSuggestions} object suggesting the hardcoded strings with tooltips
+	 * @return an {@link ArgumentSuggestions} object suggesting the strings with tooltips in the collection
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsWithTooltips(Collection<IStringTooltip> suggestions) {
 		return (info, builder) -> future(suggestionsFromTooltips(builder, suggestions));
 	}
 
+	/**
+	 * Suggest hardcoded strings with tooltips, which are sorted once so that
+	 * suggestions can be found quickly. This is faster than
+	 * {@link #stringsWithTooltips(Collection)} for lots of strings
+	 *
+	 * @param suggestions collection of hardcoded strings with tooltips. These are
+	 *                    copied, so later changes to the collection are not
+	 *                    suggested
+	 *
+	 * @return an {@link ArgumentSuggestions} object suggesting the hardcoded strings with tooltips
+	 */
+	static <CommandSender> ArgumentSuggestions<CommandSender> indexedStringsWithTooltips(Collection<IStringTooltip> suggestions) {
+		StringSuggestionIndex index = StringSuggestionIndex.ofTooltips(suggestions);
+		return (info, builder) -> future(index.suggest(builder));
+	}
+
 	/**
 	 * Suggest an array of strings with tooltips as the result of a function
 	 *
@@ -163,8 +199,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting the result of the asynchronous function
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsWithTooltipsAsync(Function<SuggestionInfo<CommandSender>, CompletableFuture<IStringTooltip[]>> suggestions) {
-		return (info, builder) -> suggestions
-			.apply(info)
+		return (info, builder) -> applyAsync(suggestions, info)
 			.thenApply(stringsWithTooltips -> suggestionsFromTooltips(builder, stringsWithTooltips));
 	}
 
@@ -176,8 +211,7 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return an {@link ArgumentSuggestions} object suggesting the result of the asynchronous function
 	 */
 	static <CommandSender> ArgumentSuggestions<CommandSender> stringsWithTooltipsCollectionAsync(Function<SuggestionInfo<CommandSender>, CompletableFuture<Collection<IStringTooltip>>> suggestions) {
-		return (info, builder) -> suggestions
-			.apply(info)
+		return (info, builder) -> applyAsync(suggestions, info)
 			.thenApply(stringsWithTooltips -> suggestionsFromTooltips(builder, stringsWithTooltips));
 	}
 
@@ -196,6 +230,49 @@ public interface ArgumentSuggestions<CommandSender> {
 		};
 	}
 
+	/**
+	 * Cache suggestions from another {@link ArgumentSuggestions}, so they don't
+	 * have to be recalculated every time they are requested. Suggestions are
+	 * cached for each sender and each input, so the same sender typing the same
+	 * thing gets the same suggestions until they expire. Players are
+	 * identified by their UUID, so cached suggestions don't keep them loaded.
+	 *
+	 * @param suggestions the {@link ArgumentSuggestions} to cache
+	 * @param timeToLive how long suggestions are cached for
+	 * @param maxEntries the maximum number of suggestions to cache. If this is
+	 *                   exceeded, the least recently used suggestions are removed
+	 *
+	 * @return a {@link CachedArgumentSuggestions} object suggesting the cached suggestions
+	 */
+	static <CommandSender> CachedArgumentSuggestions<CommandSender> cached(ArgumentSuggestions<CommandSender> suggestions, Duration timeToLive, int maxEntries) {
+		return cached(suggestions, info -> {
+			@SuppressWarnings("unchecked")
+			CommandAPIPlatform<?, CommandSender, ?> platform = (CommandAPIPlatform<?, CommandSender, ?>) CommandAPIHandler.getInstance().getPlatform();
+			return List.of(platform.getSenderKey(info.sender()), info.currentInput());
+		}, timeToLive, maxEntries);
+	}
+
+	/**
+	 * Cache suggestions from another {@link ArgumentSuggestions}, so they don't
+	 * have to be recalculated every time they are requested. Cached suggestions
+	 * are used as they are, so the key should include everything that changes
+	 * the suggestions, for example {@link SuggestionInfo#currentArg()} if
+	 * suggestions depend on what has been typed so far.
+	 *
+	 * @param suggestions the {@link ArgumentSuggestions} to cache
+	 * @param keyFunction function providing the key to cache suggestions by. Keys are
+	 *                    compared using {@link Object#equals(Object)}
+	 * @param timeToLive how long suggestions are cached for
+	 * @param maxEntries the maximum number of suggestions to cache. If this is
+	 *                   exceeded, the least recently used suggestions are removed
+	 *
+	 * @return a {@link CachedArgumentSuggestions} object suggesting the cached suggestions
+	 */
+	static <CommandSender> CachedArgumentSuggestions<CommandSender> cached(ArgumentSuggestions<CommandSender> suggestions,
+			Function<SuggestionInfo<CommandSender>, ?> keyFunction, Duration timeToLive, int maxEntries) {
+		return new CachedArgumentSuggestions<>(suggestions, keyFunction, timeToLive, maxEntries);
+	}
+
 	/**
 	 * Convert an array of strings into a brigadier {@link Suggestions} object
 	 *
@@ -205,8 +282,9 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return a brigadier {@link Suggestions} object suggesting the array of strings
 	 */
 	private static Suggestions suggestionsFromStrings(SuggestionsBuilder builder, String... suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(String suggestion : suggestions) {
-			if(shouldSuggest(builder, suggestion)) {
+			if(shouldSuggest(remaining, suggestion)) {
 				builder.suggest(suggestion);
 			}
 		}
@@ -222,8 +300,9 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return a brigadier {@link Suggestions} object suggesting the collection of strings
 	 */
 	private static Suggestions suggestionsFromStrings(SuggestionsBuilder builder, Collection<String> suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(String suggestion : suggestions) {
-			if(shouldSuggest(builder, suggestion)) {
+			if(shouldSuggest(remaining, suggestion)) {
 				builder.suggest(suggestion);
 			}
 		}
@@ -239,8 +318,9 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return a brigadier {@link Suggestions} object suggesting the array of strings with tooltips
 	 */
 	private static Suggestions suggestionsFromTooltips(SuggestionsBuilder builder, IStringTooltip... suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(IStringTooltip suggestion : suggestions) {
-			processSuggestion(builder, suggestion);
+			processSuggestion(builder, remaining, suggestion);
 		}
 		return builder.build();
 	}
@@ -254,14 +334,15 @@ public interface ArgumentSuggestions<CommandSender> {
 	 * @return a brigadier {@link Suggestions} object suggesting the collection of strings with tooltips
 	 */
 	private static Suggestions suggestionsFromTooltips(SuggestionsBuilder builder, Collection<IStringTooltip> suggestions) {
+		String remaining = builder.getRemaining().toLowerCase(Locale.ROOT);
 		for(IStringTooltip suggestion : suggestions) {
-			processSuggestion(builder, suggestion);
+			processSuggestion(builder, remaining, suggestion);
 		}
 		return builder.build();
 	}
 
-	private static void processSuggestion(SuggestionsBuilder builder, IStringTooltip suggestion) {
-		if(!shouldSuggest(builder, suggestion.getSuggestion())) {
+	private static void processSuggestion(SuggestionsBuilder builder, String remaining, IStringTooltip suggestion) {
+		if(!shouldSuggest(remaining, suggestion.getSuggestion())) {
 			return;
 		}
 
@@ -275,13 +356,31 @@ public interface ArgumentSuggestions<CommandSender> {
 	/**
 	 * Returns whether the typed text should be suggested by the current suggestion
 	 *
-	 * @param builder SuggestionsBuilder object
+	 * @param remaining the typed text, in lowercase
 	 * @param suggestion string suggestion
 	 *
 	 * @return true if the current input is a prefix of the suggestion, false otherwise
 	 */
-	private static boolean shouldSuggest(SuggestionsBuilder builder, String suggestion) {
-		return suggestion.toLowerCase(Locale.ROOT).startsWith(builder.getRemaining().toLowerCase(Locale.ROOT));
+	private static boolean shouldSuggest(String remaining, String suggestion) {
+		return suggestion.toLowerCase(Locale.ROOT).startsWith(remaining);
+	}
+
+	/**
+	 * Apply an asynchronous suggestion function, after parsing the previous
+	 * arguments on this thread
+	 *
+	 * @param suggestions the asynchronous suggestion function
+	 * @param info the suggestion info to apply it to
+	 * @param <T> type of the suggestions
+	 *
+	 * @return the result of the asynchronous function
+	 */
+	private static <CommandSender, T> CompletableFuture<T> applyAsync(Function<SuggestionInfo<CommandSender>, CompletableFuture<T>> suggestions,
+		SuggestionInfo<CommandSender> info) {
+		// The function usually runs on another thread, but parsing some previous
+		// arguments (like entity selectors) has to happen on this one
+		info.previousArgs().parseAll();
+		return suggestions.apply(info);
 	}
 
 	/**
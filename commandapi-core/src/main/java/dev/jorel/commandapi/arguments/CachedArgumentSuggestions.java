@@ -0,0 +1,184 @@
+package dev.jorel.commandapi.arguments;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.mojang.brigadier.context.StringRange;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.suggestion.Suggestion;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+
+import dev.jorel.commandapi.SuggestionInfo;
+
+/**
+ * An {@link ArgumentSuggestions} that remembers the suggestions of another
+ * {@link ArgumentSuggestions} for a while, so expensive suggestions (for
+ * example, ones that query a database) don't have to be recalculated every
+ * time a player types a character. Suggestions are cached by a key calculated
+ * from the {@link SuggestionInfo}, expire after a fixed amount of time, and the
+ * least recently used suggestions are removed when the cache is full.
+ * <p>
+ * This is safe to use from multiple threads. If the same suggestions are
+ * requested again while they are still being calculated, the same calculation
+ * is shared.
+ * <p>
+ * Instances are created using
+ * {@link ArgumentSuggestions#cached(ArgumentSuggestions, Duration, int)} or
+ * {@link ArgumentSuggestions#cached(ArgumentSuggestions, Function, Duration, int)}.
+ *
+ * @param <CommandSender> The CommandSender class used by the class extending
+ *                        this class
+ */
+public class CachedArgumentSuggestions<CommandSender> implements ArgumentSuggestions<CommandSender> {
+
+	private record Entry(CompletableFuture<Suggestions> suggestions, int start, int end, long expiresAt) {
+	}
+
+	private final ArgumentSuggestions<CommandSender> suggestions;
+	private final Function<SuggestionInfo<CommandSender>, ?> keyFunction;
+	private final long timeToLive;
+
+	// Most recently used entries are at the end. Guarded by itself
+	private final Map<Object, Entry> entries;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	CachedArgumentSuggestions(ArgumentSuggestions<CommandSender> suggestions, Function<SuggestionInfo<CommandSender>, ?> keyFunction,
+			Duration timeToLive, int maxEntries) {
+		if (timeToLive.isNegative() || timeToLive.isZero()) {
+			throw new IllegalArgumentException("The time to live of cached suggestions must be positive, but was " + timeToLive);
+		}
+		if (maxEntries <= 0) {
+			throw new IllegalArgumentException("The maximum number of cached suggestions must be positive, but was " + maxEntries);
+		}
+
+		this.suggestions = suggestions;
+		this.keyFunction = keyFunction;
+		this.timeToLive = timeToLive.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	@Override
+	public CompletableFuture<Suggestions> suggest(SuggestionInfo<CommandSender> info, SuggestionsBuilder builder)
+			throws CommandSyntaxException {
+		final Object key = keyFunction.apply(info);
+		final long now = System.nanoTime();
+		final int start = builder.getStart();
+		final int end = builder.getInput().length();
+
+		final Entry entry;
+		final boolean hit;
+		synchronized (entries) {
+			Entry cached = entries.get(key);
+			hit = cached != null && now - cached.expiresAt() < 0;
+			if (hit) {
+				entry = cached;
+			} else {
+				// Reserve this key, so other requests for it wait for this one
+				entry = new Entry(new CompletableFuture<>(), start, end, now + timeToLive);
+				entries.put(key, entry);
+			}
+		}
+
+		if (hit) {
+			hits.increment();
+			return entry.suggestions().thenApply(result -> moveTo(result, entry, start, end, builder.getInput()));
+		}
+		misses.increment();
+
+		// The builder may be shared with other suggestion providers (for example,
+		// when suggestions are included), so use a new one to only cache our own
+		final CompletableFuture<Suggestions> result;
+		try {
+			result = suggestions.suggest(info, builder.createOffset(start));
+		} catch (CommandSyntaxException | RuntimeException e) {
+			fail(key, entry, e);
+			throw e;
+		}
+
+		result.whenComplete((value, exception) -> {
+			if (exception == null) {
+				entry.suggestions().complete(value);
+			} else {
+				fail(key, entry, exception);
+			}
+		});
+		return result;
+	}
+
+	private void fail(Object key, Entry entry, Throwable exception) {
+		// Don't keep failures, so the next request tries again
+		synchronized (entries) {
+			entries.remove(key, entry);
+		}
+		entry.suggestions().completeExceptionally(exception);
+	}
+
+	// Cached suggestions are relative to the input they were created for. If the
+	// same key is used for different input (for example, the same command typed
+	// with an alias), move the suggestions to where the argument is now
+	private static Suggestions moveTo(Suggestions suggestions, Entry entry, int start, int end, String input) {
+		if (entry.start() == start && entry.end() == end) {
+			return suggestions;
+		}
+
+		List<Suggestion> moved = new ArrayList<>(suggestions.getList().size());
+		for (Suggestion suggestion : suggestions.getList()) {
+			StringRange range = suggestion.getRange();
+			int suggestionStart = range.getStart() - entry.start() + start;
+			int suggestionEnd = range.getEnd() == entry.end() ? end : range.getEnd() - entry.start() + start;
+			moved.add(new Suggestion(StringRange.between(suggestionStart, suggestionEnd), suggestion.getText(), suggestion.getTooltip()));
+		}
+		return Suggestions.create(input, moved);
+	}
+
+	/**
+	 * @return the number of times suggestions were found in this cache
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of times suggestions were not found in this cache, and
+	 *         had to be calculated
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of suggestions in this cache, including ones that have
+	 *         expired but haven't been removed yet
+	 */
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Removes all suggestions from this cache, so they are calculated again the
+	 * next time they are requested. This is useful if the data that suggestions
+	 * are created from has changed.
+	 */
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package dev.jorel.commandapi.arguments;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import com.mojang.brigadier.Message;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+
+import dev.jorel.commandapi.IStringTooltip;
+
+/**
+ * A fixed list of suggestions, sorted by their lowercase text. Suggestions that
+ * start with what has been typed so far are next to each other, so they can be
+ * found with a binary search instead of checking (and lowercasing) every
+ * suggestion for every request.
+ */
+final class StringSuggestionIndex {
+
+	private record Entry(String key, String text, IStringTooltip tooltip) {
+	}
+
+	// Lowercase suggestions, sorted
+	private final String[] keys;
+	private final String[] texts;
+
+	// The tooltip of each suggestion, or null if there are no tooltips
+	private final IStringTooltip[] tooltips;
+
+	private StringSuggestionIndex(List<Entry> entries, boolean hasTooltips) {
+		entries.sort(Comparator.comparing(Entry::key));
+
+		this.keys = new String[entries.size()];
+		this.texts = new String[entries.size()];
+		this.tooltips = hasTooltips ? new IStringTooltip[entries.size()] : null;
+		for (int i = 0; i < entries.size(); i++) {
+			Entry entry = entries.get(i);
+			keys[i] = entry.key();
+			texts[i] = entry.text();
+			if (hasTooltips) {
+				tooltips[i] = entry.tooltip();
+			}
+		}
+	}
+
+	/**
+	 * @param suggestions the strings to suggest
+	 * @return an index of the given strings
+	 */
+	static StringSuggestionIndex ofStrings(Collection<String> suggestions) {
+		List<Entry> entries = new ArrayList<>(suggestions.size());
+		for (String suggestion : suggestions) {
+			entries.add(new Entry(suggestion.toLowerCase(Locale.ROOT), suggestion, null));
+		}
+		return new StringSuggestionIndex(entries, false);
+	}
+
+	/**
+	 * @param suggestions the strings with tooltips to suggest. Tooltips are looked
+	 *                    up every time they are suggested, but the suggestions
+	 *                    themselves must not change
+	 * @return an index of the given strings with tooltips
+	 */
+	static StringSuggestionIndex ofTooltips(Collection<IStringTooltip> suggestions) {
+		List<Entry> entries = new ArrayList<>(suggestions.size());
+		for (IStringTooltip suggestion : suggestions) {
+			entries.add(new Entry(suggestion.getSuggestion().toLowerCase(Locale.ROOT), suggestion.getSuggestion(), suggestion));
+		}
+		return new StringSuggestionIndex(entries, true);
+	}
+
+	/**
+	 * Suggests every string that starts with the remaining input, ignoring case
+	 *
+	 * @param builder brigadier {@link SuggestionsBuilder} object for building the suggestions
+	 * @return a brigadier {@link Suggestions} object suggesting the matching strings
+	 */
+	Suggestions suggest(SuggestionsBuilder builder) {
+		String prefix = builder.getRemaining().toLowerCase(Locale.ROOT);
+
+		// Find the first key that isn't before the prefix
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		for (int i = low; i < keys.length && keys[i].startsWith(prefix); i++) {
+			Message tooltip = tooltips == null ? null : tooltips[i].getTooltip();
+			if (tooltip == null) {
+				builder.suggest(texts[i]);
+			} else {
+				builder.suggest(texts[i], tooltip);
+			}
+		}
+		return builder.build();
+	}
+
+}
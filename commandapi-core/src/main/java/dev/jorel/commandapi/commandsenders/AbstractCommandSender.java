@@ -22,6 +22,16 @@ public interface AbstractCommandSender<Source> {
 	 */
 	boolean isOp();
 
+	/**
+	 * Tests if this CommandSender is still connected to the server. CommandSenders
+	 * that can't disconnect, such as the console, are always connected
+	 *
+	 * @return True if this CommandSender is connected, and false otherwise
+	 */
+	default boolean isConnected() {
+		return true;
+	}
+
 	/**
 	 * @return The underlying CommandSender object
 	 */
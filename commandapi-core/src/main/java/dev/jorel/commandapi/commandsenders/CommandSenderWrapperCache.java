@@ -0,0 +1,106 @@
+package dev.jorel.commandapi.commandsenders;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reuses one {@link AbstractCommandSender} for each command sender that stays
+ * connected to the server, such as players and the console. Without this, a
+ * new wrapper would be created every time a sender's requirements are checked,
+ * suggestions are made for them, or they run a command.
+ * <p>
+ * Senders are compared by identity, so a player that reconnects gets a new
+ * wrapper. Wrappers are forgotten when {@link #remove(Object)} is called, or
+ * otherwise once their sender is found to no longer be
+ * {@link AbstractCommandSender#isConnected() connected}, either when they are
+ * looked up again or by a sweep of the whole cache.
+ *
+ * @param <Source>  The class of the command senders being wrapped
+ * @param <Wrapper> The class of the wrappers
+ */
+public class CommandSenderWrapperCache<Source, Wrapper extends AbstractCommandSender<? extends Source>> {
+
+	// How many wrappers can be added before disconnected senders are looked for
+	private static final int CLEANUP_INTERVAL = 256;
+
+	private final Function<Source, Wrapper> wrapperFunction;
+
+	// Guarded by itself
+	private final Map<Source, Wrapper> wrappers = new IdentityHashMap<>();
+	private int addedSinceCleanup = 0;
+
+	/**
+	 * Creates a new cache
+	 *
+	 * @param wrapperFunction the function that creates a wrapper for a sender
+	 *                        that isn't cached yet
+	 */
+	public CommandSenderWrapperCache(Function<Source, Wrapper> wrapperFunction) {
+		this.wrapperFunction = wrapperFunction;
+	}
+
+	/**
+	 * Gets the wrapper for a command sender, creating it if it doesn't exist yet
+	 *
+	 * @param source the command sender to wrap
+	 * @return the wrapper for the command sender
+	 */
+	public Wrapper get(Source source) {
+		Wrapper wrapper;
+		synchronized (wrappers) {
+			wrapper = wrappers.get(source);
+		}
+		if (wrapper != null) {
+			if (!wrapper.isConnected()) {
+				// This sender left without being removed, so forget them now
+				synchronized (wrappers) {
+					wrappers.remove(source, wrapper);
+				}
+			}
+			return wrapper;
+		}
+
+		wrapper = wrapperFunction.apply(source);
+		if (!wrapper.isConnected()) {
+			// This sender already left, so it might never be removed
+			return wrapper;
+		}
+
+		synchronized (wrappers) {
+			Wrapper existing = wrappers.putIfAbsent(source, wrapper);
+			if (existing != null) {
+				return existing;
+			}
+
+			if (++addedSinceCleanup >= CLEANUP_INTERVAL) {
+				addedSinceCleanup = 0;
+				wrappers.values().removeIf(cached -> !cached.isConnected());
+			}
+		}
+		return wrapper;
+	}
+
+	/**
+	 * Forgets the wrapper for a command sender, for example because they left the
+	 * server
+	 *
+	 * @param source the command sender to forget
+	 */
+	public void remove(Source source) {
+		synchronized (wrappers) {
+			wrappers.remove(source);
+		}
+	}
+
+	/**
+	 * Forgets all wrappers
+	 */
+	public void clear() {
+		synchronized (wrappers) {
+			wrappers.clear();
+			addedSinceCleanup = 0;
+		}
+	}
+
+}
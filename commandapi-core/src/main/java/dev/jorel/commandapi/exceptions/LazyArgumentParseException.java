@@ -0,0 +1,41 @@
+package dev.jorel.commandapi.exceptions;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+/**
+ * An exception thrown when an argument that is only parsed when it is read
+ * can't be parsed. If this is thrown out of an executor, the command fails with
+ * the wrapped CommandSyntaxException, the same way it would have failed if the
+ * argument had been parsed before the executor ran. If it is thrown anywhere
+ * else, such as in an async task that the executor started, it is not handled.
+ *
+ * @see dev.jorel.commandapi.CommandAPIConfig#lazyArgumentParsing(boolean)
+ */
+@SuppressWarnings("serial")
+public class LazyArgumentParseException extends RuntimeException {
+
+	/**
+	 * The Brigadier CommandSyntaxException that this class wraps
+	 */
+	private final CommandSyntaxException exception;
+
+	/**
+	 * Creates a LazyArgumentParseException
+	 *
+	 * @param exception the exception thrown while parsing the argument
+	 */
+	public LazyArgumentParseException(CommandSyntaxException exception) {
+		super(exception.getMessage(), exception);
+		this.exception = exception;
+	}
+
+	/**
+	 * Returns the wrapped CommandSyntaxException
+	 *
+	 * @return the wrapped CommandSyntaxException
+	 */
+	public CommandSyntaxException getException() {
+		return this.exception;
+	}
+
+}
@@ -0,0 +1,125 @@
+package dev.jorel.commandapi.executors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable lookup table from argument node names to their position in a
+ * {@link CommandArguments} object. The node names of a command's arguments are
+ * known when the command is registered, so one index is created per registered
+ * command and shared by every execution (and suggestion request) of that
+ * command.
+ */
+public final class ArgumentIndex {
+
+	private static final ArgumentIndex EMPTY = new ArgumentIndex(new String[0]);
+
+	// Node names in the order their arguments appear in the command
+	private final String[] nodeNames;
+
+	// Node names that only appear once, in the order they first appear in the command
+	private final String[] distinctNodeNames;
+
+	// Node names and their positions, sorted by name (then position) so they can
+	// be binary searched
+	private final String[] sortedNames;
+	private final int[] sortedSlots;
+
+	private ArgumentIndex(String[] nodeNames) {
+		this.nodeNames = nodeNames;
+
+		Integer[] order = new Integer[nodeNames.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.<Integer, String>comparing(i -> nodeNames[i]).thenComparingInt(i -> i));
+
+		this.sortedNames = new String[nodeNames.length];
+		this.sortedSlots = new int[nodeNames.length];
+		for (int i = 0; i < order.length; i++) {
+			sortedNames[i] = nodeNames[order[i]];
+			sortedSlots[i] = order[i];
+		}
+
+		List<String> distinct = new ArrayList<>();
+		for (String nodeName : nodeNames) {
+			if (!distinct.contains(nodeName)) {
+				distinct.add(nodeName);
+			}
+		}
+		this.distinctNodeNames = distinct.toArray(new String[0]);
+	}
+
+	/**
+	 * Creates an index for arguments with the given node names
+	 *
+	 * @param nodeNames the node names of the arguments, in the order they appear in
+	 *                  the command
+	 * @return an index for the given node names
+	 */
+	public static ArgumentIndex of(String... nodeNames) {
+		return nodeNames.length == 0 ? EMPTY : new ArgumentIndex(nodeNames.clone());
+	}
+
+	/**
+	 * @return the number of arguments in this index
+	 */
+	public int size() {
+		return nodeNames.length;
+	}
+
+	/**
+	 * @param slot the position of an argument
+	 * @return the node name of the argument at the given position
+	 */
+	public String nodeName(int slot) {
+		return nodeNames[slot];
+	}
+
+	/**
+	 * @return the node names in this index, without duplicates, in the order
+	 *         their arguments first appear in the command
+	 */
+	String[] distinctNodeNames() {
+		return distinctNodeNames;
+	}
+
+	/**
+	 * Finds the position of an argument by its node name. If more than one
+	 * argument has this node name, the last one before {@code limit} is returned,
+	 * matching how a map would behave if the arguments were put into it in order.
+	 *
+	 * @param nodeName the node name of the argument
+	 * @param limit    the number of arguments that are available. Arguments at or
+	 *                 after this position are ignored
+	 * @return the position of the argument, or -1 if there is no argument with
+	 *         this node name before {@code limit}
+	 */
+	public int slotOf(String nodeName, int limit) {
+		if (nodeName == null) {
+			return -1;
+		}
+
+		// Find the first entry with this node name
+		int low = 0;
+		int high = sortedNames.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sortedNames[mid].compareTo(nodeName) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+
+		// Entries with the same node name are sorted by position
+		int result = -1;
+		for (int i = low; i < sortedNames.length && sortedNames[i].equals(nodeName) && sortedSlots[i] < limit; i++) {
+			result = sortedSlots[i];
+		}
+		return result;
+	}
+
+}
@@ -2,9 +2,13 @@ package dev.jorel.commandapi.executors;
 
 import javax.annotation.Nullable;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -14,8 +18,16 @@ import java.util.function.Supplier;
 public class CommandArguments {
 
 	private final Object[] args;
+	private int count;
+
+	// Node names are looked up in exactly one of these. Arguments created while
+	// parsing a command share the index of the command they were registered with
 	private final Map<String, Object> argsMap;
-	private final String fullInput;
+	private final ArgumentIndex index;
+
+	// The full input is computed lazily, because most commands never read it
+	private final Supplier<String> fullInputSupplier;
+	private String fullInput;
 
 	/**
 	 * Constructs a new CommandArguments instance
@@ -26,9 +38,84 @@ public class CommandArguments {
 	 */
 	public CommandArguments(Object[] args, Map<String, Object> argsMap, String fullInput) {
 		this.args = args;
+		this.count = args.length;
 		this.argsMap = argsMap;
+		this.index = null;
+		this.fullInputSupplier = null;
 		this.fullInput = fullInput;
 	}
+
+	/**
+	 * Constructs a new, empty CommandArguments instance that arguments can be
+	 * added to using {@link #append(Object)}. This lets the same instance be
+	 * passed to every argument's parser while arguments are being parsed, instead
+	 * of copying the arguments parsed so far for each parser.
+	 *
+	 * @param index     The index of node names for the command's arguments. This
+	 *                  also determines how many arguments can be added
+	 * @param fullInput A supplier for the raw command a player has entered. This
+	 *                  is only called once, the first time the full input is
+	 *                  requested
+	 */
+	protected CommandArguments(ArgumentIndex index, Supplier<String> fullInput) {
+		this.args = new Object[index.size()];
+		this.count = 0;
+		this.argsMap = null;
+		this.index = index;
+		this.fullInputSupplier = fullInput;
+		this.fullInput = null;
+	}
+
+	/**
+	 * Constructs a view of the first arguments of another CommandArguments
+	 * instance. The view shares the other instance's arguments, so arguments that
+	 * are added to the other instance afterwards are not seen by the view, but
+	 * arguments that are parsed by the other instance are.
+	 *
+	 * @param arguments The arguments to view
+	 * @param count     How many of the arguments the view contains
+	 */
+	protected CommandArguments(CommandArguments arguments, int count) {
+		this.args = arguments.args;
+		this.count = count;
+		this.argsMap = arguments.argsMap;
+		this.index = arguments.index;
+		this.fullInputSupplier = arguments.fullInputSupplier;
+		this.fullInput = arguments.fullInput;
+	}
+
+	/**
+	 * Adds a parsed argument to the end of these arguments. This should only be
+	 * used while arguments are being parsed.
+	 *
+	 * @param value The parsed value of the argument
+	 */
+	protected void append(Object value) {
+		args[count++] = value;
+	}
+
+	/**
+	 * Gets the value of an argument. This can be overridden to work out the value
+	 * of an argument the first time it is requested.
+	 *
+	 * @param slot The position of the argument, which must be less than
+	 *             {@link #count()}
+	 * @return The value of the argument
+	 */
+	protected Object valueAt(int slot) {
+		return args[slot];
+	}
+
+	/**
+	 * Replaces the value of an argument that has already been added
+	 *
+	 * @param slot  The position of the argument, which must be less than
+	 *              {@link #count()}
+	 * @param value The new value of the argument
+	 */
+	protected void set(int slot, Object value) {
+		args[slot] = value;
+	}
 	
 	// Access the inner structure directly
 
@@ -36,21 +123,37 @@ public class CommandArguments {
 	 * @return The complete argument array of this command
 	 */
 	public Object[] args() {
-		return args;
+		return count == args.length ? args : Arrays.copyOf(args, count);
 	}
 	
 	/**
 	 * @return An unmodifiable clone of the mapping of node names to argument values
 	 */
 	public Map<String, Object> argsMap() {
-		return Collections.unmodifiableMap(argsMap);
+		if (index == null) {
+			return Collections.unmodifiableMap(argsMap);
+		} else {
+			return new IndexedArgumentsMap();
+		}
+	}
+
+	/**
+	 * Parses every argument that hasn't been parsed yet. Some arguments are only
+	 * parsed the first time they are read, such as the arguments in
+	 * {@link dev.jorel.commandapi.SuggestionInfo#previousArgs()}, and they are
+	 * parsed on the thread that reads them. Parsing some arguments (like entity
+	 * selectors) looks at the world, so call this on the server's main thread
+	 * before passing these arguments to another thread.
+	 */
+	public void parseAll() {
+		// Arguments are parsed before they are added, unless a subclass parses them lazily
 	}
 
 	/**
 	 * @return The number of arguments in this object
 	 */
 	public int count() {
-		return args.length;
+		return count;
 	}
 	
 	// Main accessing methods. In Kotlin, methods named get() allows it to
@@ -66,10 +169,10 @@ public class CommandArguments {
 	 */
 	@Nullable
 	public Object get(int index) {
-		if (args.length <= index) {
+		if (count <= index) {
 			return null;
 		} else {
-			return args[index];
+			return valueAt(index);
 		}
 	}
 
@@ -81,7 +184,11 @@ public class CommandArguments {
 	 */
 	@Nullable
 	public Object get(String nodeName) {
-		return argsMap.get(nodeName);
+		if (index == null) {
+			return argsMap.get(nodeName);
+		}
+		int slot = index.slotOf(nodeName, count);
+		return slot == -1 ? null : valueAt(slot);
 	}
 
 	/**
@@ -90,6 +197,9 @@ public class CommandArguments {
 	 * @return The raw command string a player has entered
 	 */
 	public String getFullInput() {
+		if (fullInput == null && fullInputSupplier != null) {
+			fullInput = fullInputSupplier.get();
+		}
 		return fullInput;
 	}
 
@@ -103,10 +213,10 @@ public class CommandArguments {
 	 */
 	@Deprecated(since = "9.0.1", forRemoval = true)
 	public Object getOrDefault(int index, Object defaultValue) {
-		if (args.length <= index) {
+		if (count <= index) {
 			return defaultValue;
 		} else {
-			return args[index];
+			return valueAt(index);
 		}
 	}
 
@@ -120,7 +230,11 @@ public class CommandArguments {
 	 */
 	@Deprecated(since = "9.0.1", forRemoval = true)
 	public Object getOrDefault(String nodeName, Object defaultValue) {
-		return argsMap.getOrDefault(nodeName, defaultValue);
+		if (index == null) {
+			return argsMap.getOrDefault(nodeName, defaultValue);
+		}
+		int slot = index.slotOf(nodeName, count);
+		return slot == -1 ? defaultValue : valueAt(slot);
 	}
 
 	/**
@@ -133,10 +247,10 @@ public class CommandArguments {
 	 */
 	@Deprecated(since = "9.0.1", forRemoval = true)
 	public Object getOrDefault(int index, Supplier<?> defaultValue) {
-		if (args.length <= index) {
+		if (count <= index) {
 			return defaultValue.get();
 		} else {
-			return args[index];
+			return valueAt(index);
 		}
 	}
 
@@ -150,7 +264,7 @@ public class CommandArguments {
 	 */
 	@Deprecated(since = "9.0.1", forRemoval = true)
 	public Object getOrDefault(String nodeName, Supplier<?> defaultValue) {
-		return argsMap.getOrDefault(nodeName, defaultValue.get());
+		return getOrDefault(nodeName, defaultValue.get());
 	}
 
 	/**
@@ -160,10 +274,10 @@ public class CommandArguments {
 	 * @return An optional holding the argument which is placed at the given index, or an empty optional if index is invalid
 	 */
 	public Optional<Object> getOptional(int index) {
-		if (args.length <= index) {
+		if (count <= index) {
 			return Optional.empty();
 		} else {
-			return Optional.of(args[index]);
+			return Optional.of(valueAt(index));
 		}
 	}
 
@@ -174,10 +288,17 @@ public class CommandArguments {
 	 * @return An optional holding the argument with the specified node name or an empty optional if the node name was not found
 	 */
 	public Optional<Object> getOptional(String nodeName) {
-		if (!argsMap.containsKey(nodeName)) {
+		if (index == null) {
+			if (!argsMap.containsKey(nodeName)) {
+				return Optional.empty();
+			}
+			return Optional.of(argsMap.get(nodeName));
+		}
+		int slot = index.slotOf(nodeName, count);
+		if (slot == -1) {
 			return Optional.empty();
 		}
-		return Optional.of(argsMap.get(nodeName));
+		return Optional.of(valueAt(slot));
 	}
 	
 	/** Unchecked methods. These are the same as the methods above, but use
@@ -296,4 +417,34 @@ public class CommandArguments {
 		return (Optional<T>) getOptional(nodeName);
 	}
 
+	/**
+	 * A read-only view of the arguments parsed so far, mapped to their node
+	 * names. This is only created if {@link #argsMap()} is called.
+	 */
+	private class IndexedArgumentsMap extends AbstractMap<String, Object> {
+
+		@Override
+		public Object get(Object key) {
+			return key instanceof String nodeName ? CommandArguments.this.get(nodeName) : null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String nodeName && index.slotOf(nodeName, count) != -1;
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			Set<Entry<String, Object>> entries = new LinkedHashSet<>();
+			for (String nodeName : index.distinctNodeNames()) {
+				int slot = index.slotOf(nodeName, count);
+				if (slot != -1) {
+					entries.add(new SimpleImmutableEntry<>(nodeName, valueAt(slot)));
+				}
+			}
+			return Collections.unmodifiableSet(entries);
+		}
+
+	}
+
 }
@@ -1,5 +1,6 @@
 package dev.jorel.commandapi;
 
+import com.google.gson.JsonObject;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
@@ -30,6 +31,7 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.help.HelpTopic;
 import org.bukkit.inventory.Recipe;
 import org.bukkit.permissions.Permission;
@@ -37,7 +39,10 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -56,6 +61,9 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	private static CommandAPIBukkit<?> instance;
 	private static InternalBukkitConfig config;
 	private PaperImplementations paper;
+	private RequirementUpdateQueue requirementUpdates;
+	private final CommandSenderWrapperCache<CommandSender, BukkitCommandSender<? extends CommandSender>> senderWrappers =
+		new CommandSenderWrapperCache<>(this::createCommandSenderWrapper);
 
 	// Static VarHandles
 	private static final SafeVarHandle<CommandNode<?>, Map<String, CommandNode<?>>> commandNodeChildren;
@@ -171,6 +179,10 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	public void onEnable() {
 		JavaPlugin plugin = config.getPlugin();
 
+		if (config.shouldCoalesceRequirementUpdates()) {
+			requirementUpdates = new RequirementUpdateQueue(plugin, paper, this::resendPackets);
+		}
+
 		// Prevent command registration after server has loaded
 		new Schedulers(paper).scheduleSyncDelayed(plugin, () -> {
 			CommandAPI.stopCommandRegistration();
@@ -180,7 +192,7 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 			if (paper.isFoliaPresent()) {
 				CommandAPI.logNormal("Skipping initial datapack reloading because Folia was detected");
 			} else {
-				reloadDataPacks();
+				reloadDataPacksAsConfigured();
 			}
 			updateHelpForCommands();
 		}, 0L);
@@ -194,6 +206,12 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 				resendPackets(e.getPlayer());
 			}
 
+			@EventHandler(priority = EventPriority.MONITOR)
+			public void onPlayerQuit(PlayerQuitEvent e) {
+				senderWrappers.remove(e.getPlayer());
+				CommandAPIHandler.getInstance().permissionDecisions.invalidate(getSenderKey(e.getPlayer()));
+			}
+
 		}, plugin);
 
 		paper.registerReloadHandler(plugin);
@@ -278,15 +296,10 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	}
 
 	private List<String> getUsageList(RegisteredCommand currentCommand) {
-		List<RegisteredCommand> commandsWithIdenticalNames = new ArrayList<>();
 		List<String> usages;
 
 		// Collect every command with the same name
-		for (RegisteredCommand registeredCommand : CommandAPIHandler.getInstance().registeredCommands) {
-			if (registeredCommand.commandName().equals(currentCommand.commandName())) {
-				commandsWithIdenticalNames.add(registeredCommand);
-			}
-		}
+		List<RegisteredCommand> commandsWithIdenticalNames = CommandAPIHandler.getInstance().registeredCommands.getByName(currentCommand.commandName());
 
 		// Generate command usage or fill it with a user provided one
 		if (currentCommand.usageDescription().isPresent()) {
@@ -309,7 +322,7 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	void updateHelpForCommands() {
 		Map<String, HelpTopic> helpTopicsToAdd = new HashMap<>();
 
-		for (RegisteredCommand command : CommandAPIHandler.getInstance().registeredCommands) {
+		for (RegisteredCommand command : CommandAPIHandler.getInstance().registeredCommands.asList()) {
 			// Generate short description
 			final String shortDescription;
 			final Optional<String> shortDescriptionOptional = command.shortDescription();
@@ -384,6 +397,20 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	public abstract Source getBrigadierSourceFromCommandSender(AbstractCommandSender<? extends CommandSender> sender);
 
 	public BukkitCommandSender<? extends CommandSender> wrapCommandSender(CommandSender sender) {
+		// Players and the console run lots of commands, so their wrappers are reused. Other
+		// senders are usually created for each command, so there is no point caching them
+		if (sender instanceof Player || sender instanceof ConsoleCommandSender) {
+			return senderWrappers.get(sender);
+		}
+		return createCommandSenderWrapper(sender);
+	}
+
+	@Override
+	public Object getSenderKey(CommandSender sender) {
+		return sender instanceof org.bukkit.entity.Entity entity ? entity.getUniqueId() : sender;
+	}
+
+	private BukkitCommandSender<? extends CommandSender> createCommandSenderWrapper(CommandSender sender) {
 		if (sender instanceof BlockCommandSender block)
 			return new BukkitBlockCommandSender(block);
 		if (sender instanceof ConsoleCommandSender console)
@@ -474,6 +501,34 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	@Unimplemented(because = {REQUIRES_MINECRAFT_SERVER, VERSION_SPECIFIC_IMPLEMENTATION})
 	public abstract void createDispatcherFile(File file, CommandDispatcher<Source> brigadierDispatcher) throws IOException;
 	
+	@Override
+	public boolean scheduleOnMainThread(Runnable task) {
+		JavaPlugin plugin = getConfiguration().getPlugin();
+		if (!plugin.isEnabled()) {
+			// Bukkit doesn't let disabled plugins schedule tasks
+			return false;
+		}
+		new Schedulers(paper).scheduleSync(plugin, task);
+		return true;
+	}
+
+	/**
+	 * Writes Brigadier's command tree to a JSON file, one top-level command at a
+	 * time, so the JSON tree for every command on the server is never held in
+	 * memory at once.
+	 *
+	 * @param file           the JSON file to write to
+	 * @param dispatcher     the Brigadier CommandDispatcher
+	 * @param nodeSerializer a function that serializes a command node (and its
+	 *                       children) to JSON, such as Minecraft's
+	 *                       {@code ArgumentUtils.serializeNodeToJson}
+	 * @throws IOException when the file fails to be written to
+	 */
+	protected final void writeDispatcherFile(File file, CommandDispatcher<Source> dispatcher,
+		BiFunction<CommandDispatcher<Source>, CommandNode<Source>, JsonObject> nodeSerializer) throws IOException {
+		DispatcherFileWriter.writeCommandTree(file, dispatcher, nodeSerializer);
+	}
+
 	@Unimplemented(because = REQUIRES_MINECRAFT_SERVER) // What are the odds?
 	public abstract <T> T getMinecraftServer();
 
@@ -499,9 +554,51 @@ public abstract class CommandAPIBukkit<Source> implements CommandAPIPlatform<Arg
 	@Unimplemented(because = VERSION_SPECIFIC_IMPLEMENTATION)
 	public abstract void reloadDataPacks();
 
+	@Override
+	public CompletableFuture<DatapackReloadTimings> reloadDataPacksAsync() {
+		// Versions that can't reload datapacks in the background reload them as a single blocking phase
+		long start = System.nanoTime();
+		reloadDataPacks();
+		Duration total = Duration.ofNanos(System.nanoTime() - start);
+		return CompletableFuture.completedFuture(new DatapackReloadTimings(Map.of("reload", total), total));
+	}
+
+	/**
+	 * Reloads datapacks in the background if
+	 * {@link CommandAPIBukkitConfig#asyncDatapackReload(boolean)} is enabled,
+	 * otherwise blocks until they have been reloaded
+	 */
+	void reloadDataPacksAsConfigured() {
+		if (getConfiguration().shouldReloadDatapacksAsync()) {
+			reloadDataPacksAsync();
+		} else {
+			reloadDataPacks();
+		}
+	}
+
 	@Override
 	public void updateRequirements(AbstractPlayer<?> player) {
-		resendPackets((Player) player.getSource());
+		if (requirementUpdates != null) {
+			requirementUpdates.add((Player) player.getSource());
+		} else {
+			resendPackets((Player) player.getSource());
+		}
+	}
+
+	@Override
+	public void updateRequirements(Collection<? extends AbstractPlayer<?>> players) {
+		List<Player> bukkitPlayers = new ArrayList<>(players.size());
+		for (AbstractPlayer<?> player : players) {
+			bukkitPlayers.add((Player) player.getSource());
+		}
+
+		if (requirementUpdates != null) {
+			for (Player player : bukkitPlayers) {
+				requirementUpdates.add(player);
+			}
+		} else {
+			resendPackets(bukkitPlayers);
+		}
 	}
 
 	@Override
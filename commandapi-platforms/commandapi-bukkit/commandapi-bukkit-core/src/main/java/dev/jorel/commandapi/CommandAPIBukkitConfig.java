@@ -10,6 +10,10 @@ public class CommandAPIBukkitConfig extends CommandAPIConfig<CommandAPIBukkitCon
 	JavaPlugin plugin;
 	// Default configuration
 	boolean shouldHookPaperReload = true;
+	boolean cacheCommandPackets = true;
+	boolean coalesceRequirementUpdates = false;
+	boolean asyncDatapackReload = false;
+	boolean incrementalDatapackReload = true;
 
 	/**
 	 * Creates a new CommandAPIBukkitConfig object. Variables in this
@@ -35,6 +39,66 @@ public class CommandAPIBukkitConfig extends CommandAPIConfig<CommandAPIBukkitCon
 		return this;
 	}
 
+	/**
+	 * Sets whether the CommandAPI should reuse the command tree packet it sends
+	 * to a player for other players that can use exactly the same commands. This
+	 * makes sending commands to lots of players at once (for example, when they
+	 * join after a restart) much cheaper. This is only used on Spigot servers,
+	 * because Paper already builds command trees off the main thread.
+	 *
+	 * @param enabled whether command tree packets should be cached
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig cacheCommandPackets(boolean enabled) {
+		this.cacheCommandPackets = enabled;
+		return this;
+	}
+
+	/**
+	 * Sets whether {@link CommandAPI#updateRequirements(Object)} should wait until
+	 * the next tick to resend commands to a player. However many times
+	 * requirements are updated for a player during a tick, their commands are
+	 * only resent once. This is useful if lots of players' permissions change at
+	 * once, for example when a minigame starts.
+	 *
+	 * @param enabled whether requirement updates should be coalesced
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig coalesceRequirementUpdates(boolean enabled) {
+		this.coalesceRequirementUpdates = enabled;
+		return this;
+	}
+
+	/**
+	 * Sets whether the CommandAPI should reload datapacks in the background when
+	 * the server starts and when {@code /minecraft:reload} is run on Paper. The
+	 * server keeps running while datapacks are loaded, and only the final swap of
+	 * the server's resources happens on the main thread. How long each phase took
+	 * is logged when the reload finishes.
+	 *
+	 * @param enabled whether datapacks should be reloaded in the background
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig asyncDatapackReload(boolean enabled) {
+		this.asyncDatapackReload = enabled;
+		return this;
+	}
+
+	/**
+	 * Sets whether the CommandAPI should only recompile datapack functions when
+	 * it reloads datapacks, instead of reloading every datapack resource (loot
+	 * tables, recipes, tags, etc.). Recompiling functions is all that is needed
+	 * for CommandAPI commands to work in datapacks, and is much faster. If
+	 * recompiling functions fails, every resource is reloaded instead.
+	 *
+	 * @param enabled whether only datapack functions should be reloaded
+	 * @return this CommandAPIBukkitConfig
+	 */
+	public CommandAPIBukkitConfig incrementalDatapackReload(boolean enabled) {
+		this.incrementalDatapackReload = enabled;
+		return this;
+	}
+
 	@Override
 	public CommandAPIBukkitConfig instance() {
 		return this;
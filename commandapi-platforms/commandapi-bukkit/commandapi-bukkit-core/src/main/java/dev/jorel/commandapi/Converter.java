@@ -20,7 +20,11 @@
  *******************************************************************************/
 package dev.jorel.commandapi;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Arrays;
@@ -28,6 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -233,44 +238,129 @@ public final class Converter {
 	/*
 	 * https://www.jorel.dev/blog/Simplifying-Bukkit-CommandSenders/
 	 */
-	private static CommandSender mergeProxySender(NativeProxyCommandSender proxySender) {
-		// Add all interfaces
-		Set<Class<?>> calleeInterfacesList = new HashSet<>();
-		Class<?> currentClass = proxySender.getCallee().getClass();
-		if (currentClass.isInterface()) {
-			calleeInterfacesList.add(currentClass);
+	static CommandSender mergeProxySender(NativeProxyCommandSender proxySender) {
+		SenderProxyTemplate template = SENDER_PROXY_TEMPLATES.get(proxySender.getCallee().getClass());
+		return template.newInstance((Object p, Method method, Object[] args) -> template.getMethod(method).invoke(proxySender, args));
+	}
+
+	/**
+	 * A method of a merged proxy sender, which is implemented by either the
+	 * caller, the callee, or the proxy sender itself
+	 */
+	@FunctionalInterface
+	private interface SenderProxyMethod {
+		Object invoke(NativeProxyCommandSender proxySender, Object[] args) throws Throwable;
+	}
+
+	// Proxy classes, and how to handle their methods, only depend on the class
+	// of the callee, so they're created once for each class. ClassValue doesn't
+	// keep the classes alive, so plugins can still be unloaded
+	private static final ClassValue<SenderProxyTemplate> SENDER_PROXY_TEMPLATES = new ClassValue<>() {
+		@Override
+		protected SenderProxyTemplate computeValue(Class<?> calleeClass) {
+			return new SenderProxyTemplate(calleeClass);
+		}
+	};
+
+	private static final class SenderProxyTemplate {
+
+		private final Class<?>[] interfaces;
+
+		// The constructor of the proxy class, or null if we can't access it, in
+		// which case we have to go through Proxy.newProxyInstance every time
+		private final MethodHandle constructor;
+
+		private final Map<Method, SenderProxyMethod> methods = new ConcurrentHashMap<>();
+
+		SenderProxyTemplate(Class<?> calleeClass) {
+			// Add all interfaces
+			Set<Class<?>> calleeInterfacesList = new HashSet<>();
+			Class<?> currentClass = calleeClass;
+			if (currentClass.isInterface()) {
+				calleeInterfacesList.add(currentClass);
+			}
+			while (currentClass != null) {
+				calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
+				currentClass = currentClass.getSuperclass();
+			}
+			this.interfaces = calleeInterfacesList.toArray(new Class<?>[0]);
+
+			MethodHandle proxyConstructor;
+			try {
+				Class<?> proxyClass = Proxy.newProxyInstance(CommandSender.class.getClassLoader(), interfaces,
+					(Object p, Method method, Object[] args) -> null).getClass();
+				proxyConstructor = MethodHandles.publicLookup()
+					.findConstructor(proxyClass, MethodType.methodType(void.class, InvocationHandler.class))
+					.asType(MethodType.methodType(Object.class, InvocationHandler.class));
+			} catch (ReflectiveOperationException e) {
+				proxyConstructor = null;
+			}
+			this.constructor = proxyConstructor;
+		}
+
+		CommandSender newInstance(InvocationHandler handler) {
+			if (constructor == null) {
+				return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), interfaces, handler);
+			}
+			try {
+				return (CommandSender) (Object) constructor.invokeExact(handler);
+			} catch (Throwable e) {
+				throw new IllegalStateException("Failed to create a proxy sender", e);
+			}
 		}
-		while (currentClass != null) {
-			calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
-			currentClass = currentClass.getSuperclass();
+
+		SenderProxyMethod getMethod(Method method) {
+			return methods.computeIfAbsent(method, SenderProxyTemplate::createMethod);
 		}
-		Class<?>[] calleeInterfaces = calleeInterfacesList.toArray(new Class<?>[0]);
 
-		InvocationHandler handler = (Object p, Method method, Object[] args) -> {
-			switch(method.getName()) {
+		private static SenderProxyMethod createMethod(Method method) {
+			switch (method.getName()) {
 				case "getLocation":
-					return proxySender.getLocation();
+					return (proxySender, args) -> proxySender.getLocation();
 				case "getBlock":
-					return proxySender.getLocation().getBlock();
+					return (proxySender, args) -> proxySender.getLocation().getBlock();
 				case "getEyeLocation":
-					if(proxySender.getCallee() instanceof LivingEntity livingEntity) {
-						Location loc = proxySender.getLocation();
-						loc.setY(loc.getY() + livingEntity.getEyeHeight());
-						return loc;
-					} else {
-						// This case should never happen. If it does, please let me know!
-						return proxySender.getLocation();
-					}
+					return (proxySender, args) -> {
+						if (proxySender.getCallee() instanceof LivingEntity livingEntity) {
+							Location loc = proxySender.getLocation();
+							loc.setY(loc.getY() + livingEntity.getEyeHeight());
+							return loc;
+						} else {
+							// This case should never happen. If it does, please let me know!
+							return proxySender.getLocation();
+						}
+					};
 				case "getWorld":
-					return proxySender.getWorld();
+					return (proxySender, args) -> proxySender.getWorld();
 				default:
-					return method.invoke(
-							CALLER_METHODS.contains(method.getName()) ? proxySender.getCaller() : proxySender.getCallee(),
-							args);
+					break;
 			}
-		};
 
-		return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), calleeInterfaces, handler);
+			boolean useCaller = CALLER_METHODS.contains(method.getName());
+			MethodHandle handle;
+			try {
+				// Takes the target and an Object[] of arguments, and returns an Object
+				handle = MethodHandles.publicLookup().unreflect(method)
+					.asSpreader(Object[].class, method.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+			} catch (IllegalAccessException e) {
+				// Fall back to plain reflection if the method isn't public
+				return (proxySender, args) -> {
+					try {
+						return method.invoke(useCaller ? proxySender.getCaller() : proxySender.getCallee(), args);
+					} catch (InvocationTargetException ex) {
+						throw ex.getCause();
+					}
+				};
+			}
+
+			if (useCaller) {
+				return (proxySender, args) -> (Object) handle.invokeExact((Object) proxySender.getCaller(), args);
+			} else {
+				return (proxySender, args) -> (Object) handle.invokeExact((Object) proxySender.getCallee(), args);
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,33 @@
+package dev.jorel.commandapi;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * How long each phase of reloading datapacks took. This is the result of
+ * {@link CommandAPIBukkit#reloadDataPacksAsync()}.
+ *
+ * @param phases how long each phase took, in the order they were run
+ * @param total  how long the whole reload took, including time spent waiting
+ *               between phases (for example, for the main thread to be free)
+ */
+public record DatapackReloadTimings(Map<String, Duration> phases, Duration total) {
+
+	public DatapackReloadTimings(Map<String, Duration> phases, Duration total) {
+		this.phases = Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+		this.total = total;
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner joiner = new StringJoiner(", ", total.toMillis() + "ms (", ")");
+		for (Map.Entry<String, Duration> phase : phases.entrySet()) {
+			joiner.add(phase.getKey() + ": " + phase.getValue().toMillis() + "ms");
+		}
+		return joiner.toString();
+	}
+
+}
@@ -15,6 +15,18 @@ public class InternalBukkitConfig extends InternalConfig {
 	// Whether to hook into paper's reload event to reload datapacks when /minecraft:reload is run
 	private final boolean shouldHookPaperReload;
 
+	// Whether to reuse command tree packets for players that can use the same commands
+	private final boolean cacheCommandPackets;
+
+	// Whether to resend commands at most once per tick for each player
+	private final boolean coalesceRequirementUpdates;
+
+	// Whether to reload datapacks without blocking the main thread
+	private final boolean asyncDatapackReload;
+
+	// Whether to only recompile datapack functions when reloading datapacks
+	private final boolean incrementalDatapackReload;
+
 	/**
 	 * Creates an {@link InternalBukkitConfig} from a {@link CommandAPIBukkitConfig}
 	 *
@@ -24,6 +36,10 @@ public class InternalBukkitConfig extends InternalConfig {
 		super(config);
 		this.plugin = config.plugin;
 		this.shouldHookPaperReload = config.shouldHookPaperReload;
+		this.cacheCommandPackets = config.cacheCommandPackets;
+		this.coalesceRequirementUpdates = config.coalesceRequirementUpdates;
+		this.asyncDatapackReload = config.asyncDatapackReload;
+		this.incrementalDatapackReload = config.incrementalDatapackReload;
 	}
 
 	/**
@@ -41,4 +57,36 @@ public class InternalBukkitConfig extends InternalConfig {
 	public boolean shouldHookPaperReload() {
 		return shouldHookPaperReload;
 	}
+
+	/**
+	 * @return Whether the CommandAPI should reuse command tree packets for players
+	 * that can use exactly the same commands
+	 */
+	public boolean shouldCacheCommandPackets() {
+		return cacheCommandPackets;
+	}
+
+	/**
+	 * @return Whether requirement updates should wait until the next tick, so
+	 * commands are resent at most once per tick for each player
+	 */
+	public boolean shouldCoalesceRequirementUpdates() {
+		return coalesceRequirementUpdates;
+	}
+
+	/**
+	 * @return Whether datapacks should be reloaded in the background when the
+	 * server starts and when {@code /minecraft:reload} is run on Paper
+	 */
+	public boolean shouldReloadDatapacksAsync() {
+		return asyncDatapackReload;
+	}
+
+	/**
+	 * @return Whether reloading datapacks should only recompile datapack
+	 * functions, instead of reloading every datapack resource
+	 */
+	public boolean shouldReloadDatapacksIncrementally() {
+		return incrementalDatapackReload;
+	}
 }
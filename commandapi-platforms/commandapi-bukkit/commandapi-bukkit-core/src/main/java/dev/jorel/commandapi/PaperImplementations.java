@@ -42,7 +42,7 @@ public class PaperImplementations {
 				@EventHandler
 				public void onServerReloadResources(ServerResourcesReloadedEvent event) {
 					CommandAPI.logNormal("/minecraft:reload detected. Reloading CommandAPI commands!");
-					nmsInstance.reloadDataPacks();
+					CommandAPIBukkit.get().reloadDataPacksAsConfigured();
 				}
 
 			}, plugin);
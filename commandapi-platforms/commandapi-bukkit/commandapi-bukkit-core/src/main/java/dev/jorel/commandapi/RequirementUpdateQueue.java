@@ -0,0 +1,96 @@
+package dev.jorel.commandapi;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Collects requests to resend the command tree to players if
+ * {@link CommandAPIBukkitConfig#coalesceRequirementUpdates(boolean)} is enabled.
+ * However many times {@link CommandAPI#updateRequirements(Object)} is called
+ * for a player during a tick, their commands are only resent once, on the next
+ * tick. On Folia, each player's commands are resent on the thread that owns
+ * that player.
+ */
+class RequirementUpdateQueue {
+
+	private final Plugin plugin;
+	private final Schedulers schedulers;
+	private final boolean isFoliaPresent;
+	private final Consumer<List<Player>> resendPackets;
+
+	// Players waiting for their commands to be resent. Guarded by itself
+	private final Map<UUID, Player> pendingPlayers = new LinkedHashMap<>();
+
+	RequirementUpdateQueue(Plugin plugin, PaperImplementations paper, Consumer<List<Player>> resendPackets) {
+		this.plugin = plugin;
+		this.schedulers = new Schedulers(paper);
+		this.isFoliaPresent = paper.isFoliaPresent();
+		this.resendPackets = resendPackets;
+	}
+
+	/**
+	 * Resends the command tree to a player on the next tick, if it isn't already
+	 * going to be resent
+	 *
+	 * @param player the player to resend commands to
+	 */
+	void add(Player player) {
+		final boolean firstPlayer;
+		synchronized (pendingPlayers) {
+			if (pendingPlayers.putIfAbsent(player.getUniqueId(), player) != null) {
+				return;
+			}
+			firstPlayer = pendingPlayers.size() == 1;
+		}
+
+		if (isFoliaPresent) {
+			// If the player leaves before their task runs, the task never runs, so
+			// forget them. Otherwise, they could never be added again
+			if (!schedulers.scheduleSync(plugin, player, () -> flush(player), () -> forget(player))) {
+				forget(player);
+			}
+		} else if (firstPlayer) {
+			// Everyone who is added before the next tick is flushed together
+			schedulers.scheduleSync(plugin, this::flushAll);
+		}
+	}
+
+	private void flush(Player player) {
+		synchronized (pendingPlayers) {
+			// Only this player, not a new Player object for the same player if they reconnected
+			if (!pendingPlayers.remove(player.getUniqueId(), player)) {
+				return;
+			}
+		}
+		if (player.isOnline()) {
+			resendPackets.accept(List.of(player));
+		}
+	}
+
+	private void forget(Player player) {
+		synchronized (pendingPlayers) {
+			pendingPlayers.remove(player.getUniqueId(), player);
+		}
+	}
+
+	private void flushAll() {
+		final List<Player> players;
+		synchronized (pendingPlayers) {
+			players = new ArrayList<>(pendingPlayers.values());
+			pendingPlayers.clear();
+		}
+		// Everyone is resent together, so players that can use the same commands share a command tree
+		players.removeIf(player -> !player.isOnline());
+		if (!players.isEmpty()) {
+			resendPackets.accept(players);
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package dev.jorel.commandapi;
 
+import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
 public class Schedulers {
@@ -35,6 +36,22 @@ public class Schedulers {
 		}
 	}
 
+	/**
+	 * Runs a task on the thread that owns an entity. On Folia, the task is not run
+	 * if the entity is removed first, and {@code retired} is run instead.
+	 *
+	 * @return false if the entity has already been removed, in which case
+	 *         neither task is run
+	 */
+	public boolean scheduleSync(Plugin plugin, Entity entity, Runnable runnable, Runnable retired) {
+		if (paperImplementations.isFoliaPresent()) {
+			return entity.getScheduler().run(plugin, task -> runnable.run(), retired) != null;
+		} else {
+			plugin.getServer().getScheduler().runTask(plugin, runnable);
+			return true;
+		}
+	}
+
 	public void scheduleSyncDelayed(Plugin plugin, Runnable runnable, long delay) {
 		if (paperImplementations.isFoliaPresent()) {
 			plugin.getServer().getGlobalRegionScheduler().execute(plugin, runnable);
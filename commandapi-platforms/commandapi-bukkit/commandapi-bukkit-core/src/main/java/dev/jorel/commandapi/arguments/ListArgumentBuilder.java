@@ -21,6 +21,7 @@ public class ListArgumentBuilder<T> {
 	private final String nodeName;
 	private final String delimiter;
 	private boolean allowDuplicates = false;
+	private boolean cacheList = false;
 
 	/**
 	 * Creates a new ListArgumentBuilder with a specified node name. Defaults the
@@ -56,6 +57,23 @@ public class ListArgumentBuilder<T> {
 		return this;
 	}
 
+	/**
+	 * Whether the list of elements is always the same. By default, the list is
+	 * requested again each time suggestions are shown or the command is run. If
+	 * enabled, the list is only requested and mapped once, the first time it is
+	 * needed, and then reused for suggestions and for running the command. This
+	 * makes long lists much faster to use, but the list must not change and must
+	 * not depend on the {@link SuggestionInfo}. Lists provided as an array are
+	 * always cached.
+	 * 
+	 * @param cacheList whether to cache the list or not
+	 * @return this list argument builder
+	 */
+	public ListArgumentBuilder<T> cacheList(boolean cacheList) {
+		this.cacheList = cacheList;
+		return this;
+	}
+
 	/**
 	 * Specifies the list to use to generate suggestions for the list argument
 	 * 
@@ -64,7 +82,7 @@ public class ListArgumentBuilder<T> {
 	 * @return this list argument builder
 	 */
 	public ListArgumentBuilderSuggests withList(Function<SuggestionInfo<CommandSender>, Collection<T>> list) {
-		return new ListArgumentBuilderSuggests(list);
+		return new ListArgumentBuilderSuggests(list, cacheList);
 	}
 
 	/**
@@ -97,7 +115,8 @@ public class ListArgumentBuilder<T> {
 	@SafeVarargs
 	public final ListArgumentBuilderSuggests withList(T... array) {
 		List<T> list = List.of(array);
-		return withList(info -> list);
+		// This list can't change, so it can always be cached
+		return new ListArgumentBuilderSuggests(info -> list, true);
 	}
 
 	/**
@@ -106,9 +125,11 @@ public class ListArgumentBuilder<T> {
 	public class ListArgumentBuilderSuggests {
 
 		private final Function<SuggestionInfo<CommandSender>, Collection<T>> supplier;
+		private final boolean cacheValues;
 
-		private ListArgumentBuilderSuggests(Function<SuggestionInfo<CommandSender>, Collection<T>> list) {
+		private ListArgumentBuilderSuggests(Function<SuggestionInfo<CommandSender>, Collection<T>> list, boolean cacheValues) {
 			this.supplier = list;
+			this.cacheValues = cacheValues;
 		}
 
 		/**
@@ -161,7 +182,7 @@ public class ListArgumentBuilder<T> {
 			 * @return a {@link ListArgument}
 			 */
 			public ListArgument<T> buildGreedy() {
-				return new ListArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper);
+				return new ListArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper, cacheValues);
 			}
 			
 			/**
@@ -170,7 +191,7 @@ public class ListArgumentBuilder<T> {
 			 * @return a {@link ListTextArgument}
 			 */
 			public ListTextArgument<T> buildText() {
-				return new ListTextArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper);
+				return new ListTextArgument<>(nodeName, delimiter, allowDuplicates, supplier, mapper, cacheValues);
 			}
 		}
 	}
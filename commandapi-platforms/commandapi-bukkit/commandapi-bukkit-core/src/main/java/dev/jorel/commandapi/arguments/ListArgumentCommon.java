@@ -1,12 +1,12 @@
 package dev.jorel.commandapi.arguments;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -22,7 +22,6 @@ import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
 
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.IStringTooltip;
-import dev.jorel.commandapi.StringTooltip;
 import dev.jorel.commandapi.SuggestionInfo;
 import dev.jorel.commandapi.executors.CommandArguments;
 
@@ -38,18 +37,60 @@ public class ListArgumentCommon<T> extends Argument<List> {
 	private final Function<SuggestionInfo<CommandSender>, Collection<T>> supplier;
 	private final Function<T, IStringTooltip> mapper;
 	private final boolean text;
+	private final boolean cacheValues;
+
+	// The values from the supplier, if they are the same every time
+	private volatile Values<T> cachedValues;
+
+	/**
+	 * The values that a list argument can take, indexed by their suggestion
+	 *
+	 * @param tooltips     the suggestion and tooltip for each value, without duplicates
+	 * @param bySuggestion the values for each suggestion. More than one value can
+	 *                     map to the same suggestion
+	 */
+	private record Values<T>(Collection<IStringTooltip> tooltips, Map<String, List<T>> bySuggestion) {
+	}
 
-	ListArgumentCommon(String nodeName, String delimiter, boolean allowDuplicates, Function<SuggestionInfo<CommandSender>, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, boolean text) {
+	ListArgumentCommon(String nodeName, String delimiter, boolean allowDuplicates, Function<SuggestionInfo<CommandSender>, Collection<T>> supplier, Function<T, IStringTooltip> suggestionsMapper, boolean text, boolean cacheValues) {
 		super(nodeName, text ? StringArgumentType.string() : StringArgumentType.greedyString());
 		this.delimiter = delimiter;
 		this.allowDuplicates = allowDuplicates;
 		this.supplier = supplier;
 		this.mapper = suggestionsMapper;
 		this.text = text;
+		this.cacheValues = cacheValues;
 
 		applySuggestions();
 	}
 
+	private Values<T> getValues(SuggestionInfo<CommandSender> info) {
+		if (!cacheValues) {
+			return createValues(info);
+		}
+
+		Values<T> values = cachedValues;
+		if (values == null) {
+			// If two threads get here at once the values are just created twice
+			values = createValues(info);
+			cachedValues = values;
+		}
+		return values;
+	}
+
+	private Values<T> createValues(SuggestionInfo<CommandSender> info) {
+		// This need not be sorted because entries in suggestions are automatically
+		// sorted anyway
+		Set<IStringTooltip> tooltips = new HashSet<>();
+		Map<String, List<T>> values = new HashMap<>();
+		for (T object : supplier.apply(info)) {
+			IStringTooltip tooltip = mapper.apply(object);
+			tooltips.add(tooltip);
+			values.computeIfAbsent(tooltip.getSuggestion(), suggestion -> new ArrayList<>(1)).add(object);
+		}
+		return new Values<>(tooltips, values);
+	}
+
 	private void applySuggestions() {
 		this.replaceSuggestions((info, builder) -> {
 			String currentArg = info.currentArg();
@@ -59,45 +100,29 @@ public class ListArgumentCommon<T> extends Argument<List> {
 				builder = builder.createOffset(builder.getStart() + 1);
 			}
 
-			// This need not be a sorted map because entries in suggestions are
-			// automatically sorted anyway
-			Set<IStringTooltip> values = new HashSet<>();
-			for (T object : supplier.apply(info)) {
-				values.add(mapper.apply(object));
-			}
+			Values<T> values = getValues(info);
 
 			String[] splitArguments = currentArg.split(Pattern.quote(delimiter));
-			// If an argument is finished, suggest the delimiter
-			String lastArgument = splitArguments[splitArguments.length - 1];
-			if (!currentArg.endsWith(delimiter) && values.stream().map(IStringTooltip::getSuggestion).anyMatch(lastArgument::equals)) {
-				values.add(StringTooltip.none(lastArgument + delimiter));
-			}
-
-			if (!allowDuplicates) {
-				// Filter out values already given
-				for (String str : splitArguments) {
-					IStringTooltip valueToRemove = null;
-					for (IStringTooltip value : values) {
-						if (value.getSuggestion().equals(str)) {
-							valueToRemove = value;
-							break;
-						}
-					}
-					if (valueToRemove != null) {
-						values.remove(valueToRemove);
-					}
-				}
-			}
-
+			// Values already given aren't suggested again
+			Set<String> givenArguments = allowDuplicates ? Set.of() : new HashSet<>(Arrays.asList(splitArguments));
 
 			// Offset builder to just after the last argument
+			String lastArgument = splitArguments[splitArguments.length - 1];
 			if (currentArg.contains(delimiter)) {
 				builder = builder.createOffset(builder.getStart() + currentArg.lastIndexOf(delimiter) + delimiter.length());
 			}
+			String remaining = builder.getRemaining();
 
-			// 'values' is a set of all objects that need to be suggested
-			for (IStringTooltip str : values) {
-				if (str.getSuggestion().startsWith(builder.getRemaining())) {
+			// If an argument is finished, suggest the delimiter
+			if (!currentArg.endsWith(delimiter) && values.bySuggestion().containsKey(lastArgument)) {
+				String suggestion = lastArgument + delimiter;
+				if (suggestion.startsWith(remaining)) {
+					builder.suggest(suggestion);
+				}
+			}
+
+			for (IStringTooltip str : values.tooltips()) {
+				if (!givenArguments.contains(str.getSuggestion()) && str.getSuggestion().startsWith(remaining)) {
 					if (str.getTooltip() == null)
 						builder.suggest(str.getSuggestion());
 					else
@@ -125,39 +150,28 @@ public class ListArgumentCommon<T> extends Argument<List> {
 		final SuggestionInfo<CommandSender> currentInfo = new SuggestionInfo<>(sender, previousArgs, cmdCtx.getInput(), cmdCtx.getArgument(key, String.class));
 		
 		// Get the list of values which this can take
-		Map<IStringTooltip, T> values = new HashMap<>();
-		for (T object : supplier.apply(currentInfo)) {
-			values.put(mapper.apply(object), object);
-		}
+		Values<T> values = getValues(currentInfo);
 
 		// If the argument's value is in the list of values, include it
 		List<T> list = new ArrayList<>();
+		Set<T> addedValues = allowDuplicates ? null : new HashSet<>();
 		String argument = cmdCtx.getArgument(key, String.class);
 		String[] strArr = argument.split(Pattern.quote(delimiter));
 		StringReader context = new StringReader(argument);
 		int cursor = 0;
 		for (String str : strArr) {
-			boolean addedItem = false;
-			// Yes, this isn't an instant lookup HashMap, but this is the best we can do
-			for (Entry<IStringTooltip, T> entry : values.entrySet()) {
-				if (entry.getKey().getSuggestion().equals(str)) {
-					if (allowDuplicates) {
-						list.add(entry.getValue());
-					} else {
-						if (!list.contains(entry.getValue())) {
-							list.add(entry.getValue());
-						} else {
-							context.setCursor(cursor);
-							throw new SimpleCommandExceptionType(new LiteralMessage("Duplicate arguments are not allowed")).createWithContext(context);
-						}
-					}
-					addedItem = true;
-				}
-			}
-			if(!addedItem) {
+			List<T> matchingValues = values.bySuggestion().get(str);
+			if (matchingValues == null) {
 				context.setCursor(cursor);
 				throw new SimpleCommandExceptionType(new LiteralMessage("Item is not allowed in list")).createWithContext(context);
 			}
+			for (T value : matchingValues) {
+				if (addedValues != null && !addedValues.add(value)) {
+					context.setCursor(cursor);
+					throw new SimpleCommandExceptionType(new LiteralMessage("Duplicate arguments are not allowed")).createWithContext(context);
+				}
+				list.add(value);
+			}
 			cursor += str.length() + delimiter.length();
 		}
 		return list;
@@ -10,6 +10,7 @@ import com.mojang.brigadier.suggestion.Suggestions;
 import com.mojang.brigadier.suggestion.SuggestionsBuilder;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.CommandArguments;
+import org.bukkit.entity.Entity;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -25,6 +26,9 @@ import java.util.concurrent.CompletableFuture;
 @SuppressWarnings("rawtypes")
 public class MapArgument<K, V> extends Argument<LinkedHashMap> implements GreedyArgument {
 
+	// Players usually type one map at a time, so only a few inputs need to be remembered
+	private static final int MAX_CACHED_INPUTS = 64;
+
 	private final String delimiter;
 	private final String separator;
 	private final StringParser<K> keyMapper;
@@ -36,6 +40,54 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 	private final boolean keyListEmpty;
 	private final boolean valueListEmpty;
 
+	// The keys and values that were read for the last input of each sender,
+	// so suggestions only need to read what was typed since. Guarded by itself
+	private final Map<Object, ParsedResults> parsedResults = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, ParsedResults> eldest) {
+			return size() > MAX_CACHED_INPUTS;
+		}
+	};
+
+	/**
+	 * The keys and values that have been read from an input for suggestions,
+	 * and where each one ended (after its delimiter or separator). A key or value
+	 * only depends on the input up to where it ended, so it can be reused for any
+	 * input that starts with the same text.
+	 */
+	private static final class ParsedResults {
+		private final String input;
+		private final List<String> results = new ArrayList<>();
+		private final List<Integer> ends = new ArrayList<>();
+
+		private ParsedResults(String input) {
+			this.input = input;
+		}
+
+		private void add(String result, int end) {
+			results.add(result);
+			ends.add(end);
+		}
+
+		private int end() {
+			return ends.isEmpty() ? 0 : ends.get(ends.size() - 1);
+		}
+
+		private ParsedResults reuseFor(String newInput) {
+			int commonLength = 0;
+			int maxLength = Math.min(input.length(), newInput.length());
+			while (commonLength < maxLength && input.charAt(commonLength) == newInput.charAt(commonLength)) {
+				commonLength++;
+			}
+
+			ParsedResults reused = new ParsedResults(newInput);
+			for (int i = 0; i < results.size() && ends.get(i) <= commonLength; i++) {
+				reused.add(results.get(i), ends.get(i));
+			}
+			return reused;
+		}
+	}
+
 	/**
 	 * Constructs a {@link MapArgument}
 	 *
@@ -62,94 +114,110 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 
 	private void applySuggestions() {
 		super.replaceSuggestions((info, builder) -> {
-			StringReader reader = new StringReader(info.currentArg());
+			// Players are remembered by UUID so they can be forgotten after they leave
+			Object cacheKey = info.sender() instanceof Entity entity ? entity.getUniqueId() : info.sender();
 
-			// Read through the keys and values
-			Set<String> givenKeys = new HashSet<>();
-			Set<String> givenValues = new HashSet<>();
-			List<String> unusedKeys = new ArrayList<>(keyList.results);
-			List<String> unusedValues = new ArrayList<>(valueList.results);
+			ParsedResults previous;
+			synchronized (parsedResults) {
+				previous = parsedResults.get(cacheKey);
+			}
+			ParsedResults parsed = previous == null ? new ParsedResults(info.currentArg()) : previous.reuseFor(info.currentArg());
 
-			boolean isKey = true;
-			while (reader.canRead()) {
-				boolean isQuoted = reader.peek() == '"';
-				String result;
-				try {
-					result = isQuoted ? readQuoted(reader, isKey) : readUnquoted(reader, isKey);
-				} catch (CommandSyntaxException ignored) {
-					// Exception is thrown when the key/value never terminates
-					//  That means this key/value ends the argument, so we should do the suggestions now
-					builder = builder.createOffset(builder.getStart() + reader.getCursor() - (isQuoted ? 1 : 0));
-					if (!(isKey ? keyListEmpty : valueListEmpty)) {
-						return doResultSuggestions(readEscapedUntilEnd(reader), builder, isKey ? unusedKeys : unusedValues, isKey, isQuoted);
-					}
-					return doEmptySuggestions(reader.getRemaining(), builder, isKey, isQuoted);
+			try {
+				return suggest(builder, parsed);
+			} finally {
+				synchronized (parsedResults) {
+					parsedResults.put(cacheKey, parsed);
 				}
+			}
+		});
+	}
 
-				if (!(isKey ? keyListEmpty : valueListEmpty)) {
-					// Enforce the lists if they are not empty
-					List<String> relaventList = isKey ? unusedKeys : unusedValues;
+	private CompletableFuture<Suggestions> suggest(SuggestionsBuilder builder, ParsedResults parsed) throws CommandSyntaxException {
+		// Skip over the keys and values that have already been read
+		Set<String> givenKeys = new HashSet<>();
+		Set<String> givenValues = new HashSet<>();
+		boolean isKey = true;
+		for (String result : parsed.results) {
+			if (isKey || !allowValueDuplicates) {
+				(isKey ? givenKeys : givenValues).add(result);
+			}
+			isKey = !isKey;
+		}
 
-					if (!relaventList.contains(result)) {
-						throw invalidResult(result, reader, isKey, isQuoted);
-					}
+		StringReader reader = new StringReader(parsed.input);
+		reader.setCursor(parsed.end());
 
-					if (isKey || !allowValueDuplicates) {
-						relaventList.remove(result);
-					}
-				} else if ((isKey || !allowValueDuplicates) && !(isKey ? givenKeys : givenValues).add(result)) {
-					// If no lists given, we still enforce duplicates using the 'given' sets
-					throw invalidResult(result, reader, isKey, isQuoted);
+		// Read through the rest of the keys and values
+		while (reader.canRead()) {
+			boolean isQuoted = reader.peek() == '"';
+			String result;
+			try {
+				result = isQuoted ? readQuoted(reader, isKey) : readUnquoted(reader, isKey);
+			} catch (CommandSyntaxException ignored) {
+				// Exception is thrown when the key/value never terminates
+				//  That means this key/value ends the argument, so we should do the suggestions now
+				builder = builder.createOffset(builder.getStart() + reader.getCursor() - (isQuoted ? 1 : 0));
+				if (!(isKey ? keyListEmpty : valueListEmpty)) {
+					return doResultSuggestions(readEscapedUntilEnd(reader), builder, isKey ? givenKeys : givenValues, isKey, isQuoted);
 				}
+				return doEmptySuggestions(reader.getRemaining(), builder, isKey, isQuoted);
+			}
 
-				// Make sure result is valid according to the parsers
-				try {
-					if (isKey) {
-						keyMapper.parse(result);
-					} else {
-						valueMapper.parse(result);
-					}
-				} catch (Exception e) {
-					throw handleParserException(e, result, reader, isKey, isQuoted);
-				}
+			checkResult(result, reader, isKey, isQuoted, givenKeys, givenValues);
 
-				// Handle separator
-				String relevantSeparator = isKey ? delimiter : separator;
-				if (!reader.canRead(relevantSeparator.length())) {
-					// Argument ends at a separator
-					//  If the separator is being typed correctly, suggest they keep going
-					//  If the separator is being typed incorrectly, this suggests overriding with the correct separator
-					builder = builder.createOffset(builder.getStart() + reader.getCursor());
-					builder.suggest(relevantSeparator);
-					return builder.buildFuture();
+			// Make sure result is valid according to the parsers
+			try {
+				if (isKey) {
+					keyMapper.parse(result);
 				} else {
-					// Argument seems to keep going, validate separator
-					int start = reader.getCursor();
-					reader.setCursor(start + relevantSeparator.length());
-					String typedSeparator = reader.getString().substring(start, reader.getCursor());
-					if (!relevantSeparator.equals(typedSeparator)) {
-						reader.setCursor(start); // Set cursor back to start to underline bad typed separator
-						throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, separatorRequiredMessage(isKey));
-					}
-					// All good, keep going
+					valueMapper.parse(result);
 				}
+			} catch (Exception e) {
+				throw handleParserException(e, result, reader, isKey, isQuoted);
+			}
 
-				// Move to next key/value
-				isKey = !isKey;
+			// Handle separator
+			String relevantSeparator = isKey ? delimiter : separator;
+			if (!reader.canRead(relevantSeparator.length())) {
+				// Argument ends at a separator
+				//  If the separator is being typed correctly, suggest they keep going
+				//  If the separator is being typed incorrectly, this suggests overriding with the correct separator
+				builder = builder.createOffset(builder.getStart() + reader.getCursor());
+				builder.suggest(relevantSeparator);
+				return builder.buildFuture();
+			} else {
+				// Argument seems to keep going, validate separator
+				int start = reader.getCursor();
+				reader.setCursor(start + relevantSeparator.length());
+				String typedSeparator = reader.getString().substring(start, reader.getCursor());
+				if (!relevantSeparator.equals(typedSeparator)) {
+					reader.setCursor(start); // Set cursor back to start to underline bad typed separator
+					throw CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(reader, separatorRequiredMessage(isKey));
+				}
+				// All good, keep going
+				parsed.add(result, reader.getCursor());
 			}
 
-			// We reached the end exactly when a key/value and its terminator ended
-			// Start suggestions for the next key/value
-			return startSuggestions(builder, isKey ? unusedKeys : unusedValues, isKey);
-		});
+			// Move to next key/value
+			isKey = !isKey;
+		}
+
+		// We reached the end exactly when a key/value and its terminator ended
+		// Start suggestions for the next key/value
+		return startSuggestions(builder, isKey ? givenKeys : givenValues, isKey);
 	}
 
-	private CompletableFuture<Suggestions> startSuggestions(SuggestionsBuilder builder, List<String> unusedResults, boolean isKey) {
+	private CompletableFuture<Suggestions> startSuggestions(SuggestionsBuilder builder, Set<String> givenResults, boolean isKey) {
 		// Nothing written yet, give the preferred suggestions
 		builder = builder.createOffset(builder.getStart() + builder.getRemaining().length());
 		ResultList relevantList = isKey ? keyList : valueList;
 
-		for (String result : unusedResults) {
+		for (String result : relevantList.results) {
+			if (givenResults.contains(result)) {
+				continue;
+			}
+
 			// We either prefer quoted or unquoted, so this should only suggest 1 per result
 			String unquotedSuggestion = relevantList.preferredUnquoted.get(result);
 			if (unquotedSuggestion != null) {
@@ -164,7 +232,7 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		return builder.buildFuture();
 	}
 
-	private CompletableFuture<Suggestions> doResultSuggestions(String ending, SuggestionsBuilder builder, List<String> unusedResults, boolean isKey, boolean isQuoted) {
+	private CompletableFuture<Suggestions> doResultSuggestions(String ending, SuggestionsBuilder builder, Set<String> givenResults, boolean isKey, boolean isQuoted) {
 		String quotedInsert = isQuoted ? "\"" : "";
 		String relevantSeparator = isKey ? delimiter : separator;
 
@@ -172,7 +240,10 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		Map<String, String> suggestionsMap = isQuoted ? relevantList.quoted : relevantList.unquoted;
 
 		// Suggest key/value if they fit
-		for (String result : unusedResults) {
+		for (String result : relevantList.results) {
+			if (givenResults.contains(result)) {
+				continue;
+			}
 			// If result starts with ending, and they are the same length, they must be equal
 			boolean sameLength = result.length() == ending.length();
 			if (result.startsWith(ending)) {
@@ -246,8 +317,6 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		// Read through the keys and values
 		Set<String> givenKeys = new HashSet<>();
 		Set<String> givenValues = new HashSet<>();
-		List<String> unusedKeys = new ArrayList<>(keyList.results);
-		List<String> unusedValues = new ArrayList<>(valueList.results);
 
 		boolean isKey = true;
 		while (reader.canRead()) {
@@ -266,30 +335,14 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 					//  we actually want to validate the key first before using the missing delimiter message
 					//  https://github.com/JorelAli/CommandAPI/commit/a613894975a23824d05b09b38c603d64fe5c243c#r114318082
 					result = readEscapedUntilEnd(reader);
-					if (!(keyListEmpty ? givenKeys.add(result) : unusedKeys.contains(result))) {
-						throw invalidResult(result, reader, true, false);
-					}
+					checkResult(result, reader, true, false, givenKeys, givenValues);
 					throw e;
 				} else {
 					throw e;
 				}
 			}
 
-			if (!(isKey ? keyListEmpty : valueListEmpty)) {
-				// Enforce the lists if they are not empty
-				List<String> relaventList = isKey ? unusedKeys : unusedValues;
-
-				if (!relaventList.contains(result)) {
-					throw invalidResult(result, reader, isKey, isQuoted);
-				}
-
-				if (isKey || !allowValueDuplicates) {
-					relaventList.remove(result);
-				}
-			} else if ((isKey || !allowValueDuplicates) && !(isKey ? givenKeys : givenValues).add(result)) {
-				// If no lists given, we still enforce duplicates using the 'given' sets
-				throw invalidResult(result, reader, isKey, isQuoted);
-			}
+			checkResult(result, reader, isKey, isQuoted, givenKeys, givenValues);
 
 			// Make sure result is valid according to the parsers
 			try {
@@ -404,14 +457,25 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		return result.toString();
 	}
 
+	private void checkResult(String result, StringReader reader, boolean isKey, boolean isQuoted, Set<String> givenKeys, Set<String> givenValues) throws CommandSyntaxException {
+		if (!(isKey ? keyListEmpty : valueListEmpty) && !(isKey ? keyList : valueList).resultSet.contains(result)) {
+			// Enforce the lists if they are not empty
+			throw invalidResult(result, reader, isKey, isQuoted);
+		}
+		if ((isKey || !allowValueDuplicates) && !(isKey ? givenKeys : givenValues).add(result)) {
+			// Enforce duplicates using the 'given' sets
+			throw invalidResult(result, reader, isKey, isQuoted);
+		}
+	}
+
 	private CommandSyntaxException invalidResult(String result, StringReader context, boolean isKey, boolean isQuoted) {
-		List<String> relaventList = (isKey ? keyList : valueList).results;
+		Set<String> relaventSet = (isKey ? keyList : valueList).resultSet;
 
 		String message;
-		if ((isKey ? keyListEmpty : valueListEmpty) || relaventList.contains(result)) {
+		if ((isKey ? keyListEmpty : valueListEmpty) || relaventSet.contains(result)) {
 			// Either:
 			//  The lists are empty, so this method call came because the given sets found a duplicate
-			//  Or it used to be in the list and was removed from the local copy
+			//  Or it is in the list, but was already given
 			// Therefore, the result was a duplicate when duplicates were not allowed
 			message = "Duplicate " + (isKey ? "keys" : "values") + " are not allowed!";
 		} else {
@@ -446,9 +510,9 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 		return CommandSyntaxException.BUILT_IN_EXCEPTIONS.dispatcherParseException().createWithContext(context, message);
 	}
 
-	private record ResultList(List<String> results, Map<String, String> unquoted, Map<String, String> quoted,
+	private record ResultList(List<String> results, Set<String> resultSet, Map<String, String> unquoted, Map<String, String> quoted,
 							  Map<String, String> preferredUnquoted, Map<String, String> preferredQuoted) {
-		public static ResultList EMPTY = new ResultList(List.of(), Map.of(), Map.of(), Map.of(), Map.of());
+		public static ResultList EMPTY = new ResultList(List.of(), Set.of(), Map.of(), Map.of(), Map.of(), Map.of());
 
 		private static ResultList formatResults(List<String> results, String terminator) {
 			// Format results and sort for suggestions
@@ -476,7 +540,7 @@ public class MapArgument<K, V> extends Argument<LinkedHashMap> implements Greedy
 				}
 			}
 
-			return new ResultList(results, unquoted, quoted, preferredUnquoted, preferredQuoted);
+			return new ResultList(results, new HashSet<>(results), unquoted, quoted, preferredUnquoted, preferredQuoted);
 		}
 
 		// Determines the sequence needed to represent a result, adding escape characters when necessary to make it work
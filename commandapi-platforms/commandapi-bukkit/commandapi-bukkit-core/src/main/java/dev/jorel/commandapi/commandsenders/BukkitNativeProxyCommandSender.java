@@ -1,4 +1,6 @@
 package dev.jorel.commandapi.commandsenders;
+import org.bukkit.entity.Player;
+
 import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
 
 public class BukkitNativeProxyCommandSender implements AbstractNativeProxyCommandSender<NativeProxyCommandSender>, BukkitCommandSender<NativeProxyCommandSender> {
@@ -14,6 +16,12 @@ public class BukkitNativeProxyCommandSender implements AbstractNativeProxyComman
 		return this.proxySender.hasPermission(permissionNode);
 	}
 	
+	@Override
+	public boolean isConnected() {
+		// Stop running the command if the player who ran it has left
+		return !(this.proxySender.getCaller() instanceof Player player) || player.isOnline();
+	}
+
 	@Override
 	public boolean isOp() {
 		return this.proxySender.isOp();
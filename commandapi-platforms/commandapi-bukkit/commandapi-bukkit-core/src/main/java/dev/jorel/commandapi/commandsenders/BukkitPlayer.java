@@ -14,6 +14,11 @@ public class BukkitPlayer implements AbstractPlayer<Player>, BukkitCommandSender
 		return this.player.hasPermission(permissionNode);
 	}
 	
+	@Override
+	public boolean isConnected() {
+		return this.player.isOnline();
+	}
+
 	@Override
 	public boolean isOp() {
 		return this.player.isOp();
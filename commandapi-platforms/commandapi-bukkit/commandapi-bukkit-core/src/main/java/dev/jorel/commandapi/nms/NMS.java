@@ -27,6 +27,7 @@ import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -60,6 +61,7 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 
+import dev.jorel.commandapi.DatapackReloadTimings;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
 import dev.jorel.commandapi.wrappers.FloatRange;
@@ -425,6 +427,18 @@ public interface NMS<CommandListenerWrapper> {
 	 */
 	void reloadDataPacks();
 
+	/**
+	 * Reloads the datapacks by using the updated the commandDispatcher tree,
+	 * without blocking the main thread where possible. Resources are loaded on
+	 * background threads, and only the final swap of the server's resources
+	 * happens on the main thread. If a reload is already running, this reload
+	 * starts once it has finished.
+	 * 
+	 * @return a {@link CompletableFuture} that completes with how long each phase
+	 *         of the reload took, once the reload has finished
+	 */
+	CompletableFuture<DatapackReloadTimings> reloadDataPacksAsync();
+
 	/**
 	 * Resends the command dispatcher's set of commands to a player.
 	 * 
@@ -432,6 +446,19 @@ public interface NMS<CommandListenerWrapper> {
 	 */
 	void resendPackets(Player player);
 
+	/**
+	 * Resends the command dispatcher's set of commands to some players. Players
+	 * that can use the same commands may be sent the same command graph packet,
+	 * so it is only built once.
+	 * 
+	 * @param players the players to send the command graph packet to
+	 */
+	default void resendPackets(Collection<? extends Player> players) {
+		for (Player player : players) {
+			resendPackets(player);
+		}
+	}
+
 	HelpTopic generateHelpTopic(String commandName, String shortDescription, String fullDescription, String permission);
 
 	void addToHelpMap(Map<String, HelpTopic> helpTopicsToAdd);
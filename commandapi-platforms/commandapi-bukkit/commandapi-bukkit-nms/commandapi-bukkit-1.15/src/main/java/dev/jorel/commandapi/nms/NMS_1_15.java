@@ -2,7 +2,6 @@ package dev.jorel.commandapi.nms;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -56,8 +55,6 @@ import org.bukkit.potion.PotionEffectType;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Team;
 
-import com.google.common.io.Files;
-import com.google.gson.GsonBuilder;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
 import com.mojang.brigadier.arguments.ArgumentType;
@@ -174,6 +171,8 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 	private static final SafeVarHandle<ParticleParamItem, ItemStack> particleParamItemStack;
 	private static final SafeVarHandle<ParticleParamRedstone, Float> particleParamRedstoneSize;
 	private static final SafeVarHandle<ArgumentPredicateItemStack, NBTTagCompound> itemStackPredicateArgument;
+	private static final SafeVarHandle<EntitySelector, Boolean> entitySelectorCheckPermissions;
+	private static final SafeVarHandle<CraftSound, String> craftSoundMinecraftKey;
 
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
@@ -183,6 +182,8 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 		particleParamItemStack = SafeVarHandle.ofOrNull(ParticleParamItem.class, "c", "c", ItemStack.class);
 		particleParamRedstoneSize = SafeVarHandle.ofOrNull(ParticleParamRedstone.class, "f", "f", float.class);
 		itemStackPredicateArgument = SafeVarHandle.ofOrNull(ArgumentPredicateItemStack.class, "c", "c", NBTTagCompound.class);
+		entitySelectorCheckPermissions = SafeVarHandle.ofOrNull(EntitySelector.class, "checkPermissions", "checkPermissions", boolean.class);
+		craftSoundMinecraftKey = SafeVarHandle.ofOrNull(CraftSound.class, "minecraftKey", "minecraftKey", String.class);
 	}
 
 	@SuppressWarnings("deprecation")
@@ -421,8 +422,7 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 
 	@Override
 	public void createDispatcherFile(File file, CommandDispatcher<CommandListenerWrapper> dispatcher) throws IOException {
-		Files.write(new GsonBuilder().setPrettyPrinting().create()
-				.toJson(ArgumentRegistry.a(dispatcher, dispatcher.getRoot())), file, StandardCharsets.UTF_8);
+		writeDispatcherFile(file, dispatcher, (brigadierDispatcher, node) -> ArgumentRegistry.a(brigadierDispatcher, node));
 	}
 
 	@Override
@@ -530,11 +530,7 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 	@Override
 	public Object getEntitySelector(CommandContext<CommandListenerWrapper> cmdCtx, String str, ArgumentSubType subType) throws CommandSyntaxException {
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			CommandAPIHandler.getField(EntitySelector.class, "checkPermissions", "checkPermissions").set(argument, false);
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		entitySelectorCheckPermissions.set(argument, false);
 
 		return switch (subType) {
 			case ENTITYSELECTOR_MANY_ENTITIES:
@@ -809,17 +805,19 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 			// however this may also be null, so delegate to the next most-meaningful sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3D pos = clw.getPosition();
-		Vec2F rot = clw.i();
-		World world = getWorldForCSS(clw);
-		Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
-
 		Entity proxyEntity = clw.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
 			if (proxy == null) {
 				proxy = sender;
 			}
+
+			// Only proxied senders need to know where the command was run
+			Vec3D pos = clw.getPosition();
+			Vec2F rot = clw.i();
+			World world = getWorldForCSS(clw);
+			Location location = new Location(world, pos.getX(), pos.getY(), pos.getZ(), rot.j, rot.i);
+
 			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
 		} else {
 			return wrapCommandSender(sender);
@@ -838,14 +836,8 @@ public class NMS_1_15 extends NMSWrapper_1_15 {
 		return switch(subType) {
 			case SOUND_SOUND -> {
 				for (CraftSound sound : CraftSound.values()) {
-					try {
-						if (CommandAPIHandler.getField(CraftSound.class, "minecraftKey", "minecraftKey").get(sound)
-								.equals(soundResource.getKey())) {
-							yield Sound.valueOf(sound.name());
-						}
-					} catch (IllegalArgumentException | IllegalAccessException e1) {
-						e1.printStackTrace();
-						yield null;
+					if (craftSoundMinecraftKey.get(sound).equals(soundResource.getKey())) {
+						yield Sound.valueOf(sound.name());
 					}
 				}
 				yield null;
@@ -4,6 +4,7 @@ import com.mojang.brigadier.ParseResults;
 import com.mojang.brigadier.context.ParsedCommandNode;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPIHandler;
 import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.arguments.PreviewInfo;
@@ -27,16 +28,46 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHandler {
 
+	// Players usually only edit one command at a time, so only a few parses need to be remembered
+	private static final int MAX_CACHED_PARSES = 16;
+
+	// Parses use the player's position and permissions when they were made, so they're only reused
+	// for long enough to find out if a query is previewable and then preview it
+	private static final long PARSE_TIME_TO_LIVE = TimeUnit.SECONDS.toNanos(1);
+
+	// Chat preview queries are parsed here instead of on Netty's threads. Each player only
+	// has one query waiting at a time, so there are never more tasks than players
+	private static final ThreadPoolExecutor PREVIEW_WORKERS = createPreviewWorkers();
+
 	protected final CommandAPIBukkit<CommandSourceStack> platform;
 	protected final Plugin plugin;
 	protected final Player player;
 	protected final Connection connection;
 
+	// The latest query that hasn't been parsed yet. Older queries are skipped, because the
+	// client only uses the preview for the latest query
+	private final AtomicReference<ServerboundChatPreviewPacket> pendingQuery = new AtomicReference<>();
+
+	// Least recently used parses are removed first. Guarded by itself
+	private final Map<String, InitialParse> cachedParses = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, InitialParse> eldest) {
+			return size() > MAX_CACHED_PARSES;
+		}
+	};
+
 	protected NMS_1_19_Common_ChatPreviewHandler(CommandAPIBukkit<CommandSourceStack> platform, Plugin plugin, Player player) {
 		this.platform = platform;
 		this.plugin = plugin;
@@ -44,17 +75,30 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 		this.connection = ((CraftPlayer) player).getHandle().connection.connection;
 	}
 
+	private static ThreadPoolExecutor createPreviewWorkers() {
+		int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "CommandAPI chat preview #" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		threadPool.allowCoreThreadTimeOut(true);
+		return threadPool;
+	}
+
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
 		if (msg instanceof ServerboundChatPreviewPacket chatPreview) {
-			// make sure the result is worth consuming here
 			// Is command
 			if (!chatPreview.query().isEmpty() && chatPreview.query().charAt(0) == '/') {
-				// Is previewable argument
-				if(InitialParse.processChatPreviewQuery(chatPreview.query(), platform, player).preview.isPresent()){
-					handleChatPreviewPacket(chatPreview);
-					return;
+				// Whether this is a previewable argument is found out on a worker thread, and
+				// the packet is handled back on this channel's thread afterwards
+				if (pendingQuery.getAndSet(chatPreview) == null) {
+					PREVIEW_WORKERS.execute(() -> processPendingQuery(ctx));
 				}
+				return;
 			}
 		}
 
@@ -62,10 +106,35 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 		super.channelRead(ctx, msg);
 	}
 
+	private void processPendingQuery(ChannelHandlerContext ctx) {
+		final ServerboundChatPreviewPacket chatPreview = pendingQuery.getAndSet(null);
+		if (chatPreview == null) {
+			return;
+		}
+
+		boolean previewable;
+		try {
+			previewable = processChatPreviewQuery(chatPreview.query()).preview.isPresent();
+		} catch (RuntimeException e) {
+			CommandAPI.logError("Failed to parse chat preview for " + player.getName() + ": " + e.getMessage());
+			previewable = false;
+		}
+
+		final boolean isPreviewable = previewable;
+		ctx.channel().eventLoop().execute(() -> {
+			if (isPreviewable) {
+				handleChatPreviewPacket(chatPreview);
+			} else {
+				// Normal packet handling
+				ctx.fireChannelRead(chatPreview);
+			}
+		});
+	}
+
 	protected abstract void handleChatPreviewPacket(ServerboundChatPreviewPacket chatPreview);
 
 	public MutableComponent parseChatPreviewQuery(String chatPreviewQuery) {
-		final InitialParse ip = InitialParse.processChatPreviewQuery(chatPreviewQuery, platform, player);
+		final InitialParse ip = processChatPreviewQuery(chatPreviewQuery);
 		final Optional<PreviewableFunction<?>> preview = ip.preview;
 		if (preview.isEmpty()) {
 			return null;
@@ -125,26 +194,37 @@ public abstract class NMS_1_19_Common_ChatPreviewHandler extends ChannelDuplexHa
 		return Serializer.fromJson(jsonToSend);
 	}
 
-	private record InitialParse(String fullInput, ParseResults<CommandSourceStack> results, List<String> path, Optional<PreviewableFunction<?>> preview){
-		private static InitialParse cachedResult = null;
-		public static InitialParse processChatPreviewQuery(String chatPreviewQuery, CommandAPIBukkit<CommandSourceStack> platform, Player player){
-			// Substring 1 to get rid of the leading /
-			final String fullInput = chatPreviewQuery.substring(1);
+	private InitialParse processChatPreviewQuery(String chatPreviewQuery) {
+		// Substring 1 to get rid of the leading /
+		final String fullInput = chatPreviewQuery.substring(1);
 
-			if(cachedResult != null && cachedResult.fullInput.equals(fullInput)) return cachedResult;
+		synchronized (cachedParses) {
+			InitialParse cachedResult = cachedParses.get(fullInput);
+			if (cachedResult != null) {
+				if (System.nanoTime() - cachedResult.expiresAt < 0) {
+					return cachedResult;
+				}
+				cachedParses.remove(fullInput);
+			}
+		}
 
-			ParseResults<CommandSourceStack> results = platform.getBrigadierDispatcher()
-				.parse(fullInput, platform.getBrigadierSourceFromCommandSender(new BukkitPlayer(player)));
+		ParseResults<CommandSourceStack> results = platform.getBrigadierDispatcher()
+			.parse(fullInput, platform.getBrigadierSourceFromCommandSender(new BukkitPlayer(player)));
 
-			// Generate the path for lookup
-			List<String> path = new ArrayList<>();
-			for (ParsedCommandNode<CommandSourceStack> commandNode : results.getContext().getNodes()) {
-				path.add(commandNode.getNode().getName());
-			}
-			Optional<PreviewableFunction<?>> preview = CommandAPIHandler.getInstance().lookupPreviewable(path);
+		// Generate the path for lookup
+		List<String> path = new ArrayList<>();
+		for (ParsedCommandNode<CommandSourceStack> commandNode : results.getContext().getNodes()) {
+			path.add(commandNode.getNode().getName());
+		}
+		Optional<PreviewableFunction<?>> preview = CommandAPIHandler.getInstance().lookupPreviewable(path);
 
-			cachedResult = new InitialParse(fullInput, results, path, preview);
-			return cachedResult;
+		InitialParse result = new InitialParse(fullInput, results, path, preview, System.nanoTime() + PARSE_TIME_TO_LIVE);
+		synchronized (cachedParses) {
+			cachedParses.put(fullInput, result);
 		}
+		return result;
+	}
+
+	private record InitialParse(String fullInput, ParseResults<CommandSourceStack> results, List<String> path, Optional<PreviewableFunction<?>> preview, long expiresAt) {
 	}
 }
\ No newline at end of file
@@ -26,13 +26,15 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Predicate;
 import java.util.function.ToIntFunction;
 
@@ -72,8 +74,6 @@ import org.bukkit.inventory.Recipe;
 import org.bukkit.potion.PotionEffectType;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
-import com.google.gson.GsonBuilder;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.Message;
 import com.mojang.brigadier.arguments.ArgumentType;
@@ -81,11 +81,14 @@ import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
 import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.datafixers.util.Either;
 import com.mojang.logging.LogUtils;
 
 import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIBukkit;
 import dev.jorel.commandapi.CommandAPIHandler;
+import dev.jorel.commandapi.DatapackReloadTimings;
 import dev.jorel.commandapi.SafeVarHandle;
 import dev.jorel.commandapi.arguments.ArgumentSubType;
 import dev.jorel.commandapi.arguments.SuggestionProviders;
@@ -107,6 +110,7 @@ import net.minecraft.commands.CommandBuildContext;
 import net.minecraft.commands.CommandFunction;
 import net.minecraft.commands.CommandFunction.Entry;
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands.CommandSelection;
 import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.ComponentArgument;
 import net.minecraft.commands.arguments.DimensionArgument;
@@ -144,6 +148,7 @@ import net.minecraft.network.chat.Component.Serializer;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.MinecraftServer.ReloadableResources;
+import net.minecraft.server.ReloadableServerResources;
 import net.minecraft.server.ServerFunctionLibrary;
 import net.minecraft.server.ServerFunctionManager;
 import net.minecraft.server.level.ColumnPos;
@@ -177,14 +182,25 @@ import net.minecraft.world.phys.Vec3;
 @RequireField(in = EntitySelector.class, name = "usesSelector", ofType = boolean.class)
 @RequireField(in = EntityPositionSource.class, name = "entityOrUuidOrId", ofType = Either.class)
 @RequireField(in = ItemInput.class, name = "tag", ofType = CompoundTag.class)
+@RequireField(in = ServerFunctionManager.class, name = "ticking", ofType = List.class)
+@RequireField(in = ServerFunctionManager.class, name = "library", ofType = ServerFunctionLibrary.class)
 public class NMS_1_20_R1 extends NMS_Common {
 
 	private static final SafeVarHandle<SimpleHelpMap, Map<String, HelpTopic>> helpMapTopics;
 	private static final SafeVarHandle<ItemInput, CompoundTag> itemInput;
+	private static final SafeVarHandle<EntitySelector, Boolean> entitySelectorUsesSelector;
+	@SuppressWarnings("rawtypes")
+	private static final SafeVarHandle<ServerFunctionManager, List> functionManagerTicking;
+	private static final SafeVarHandle<ServerFunctionManager, ServerFunctionLibrary> functionManagerLibrary;
 
 	// Derived from net.minecraft.commands.Commands;
 	private static final CommandBuildContext COMMAND_BUILD_CONTEXT;
 
+	private final NMS_1_20_R1_CommandPacketCache commandPackets = new NMS_1_20_R1_CommandPacketCache();
+
+	// The last datapack reload that was started, so reloads never overlap
+	private CompletableFuture<DatapackReloadTimings> latestReload = CompletableFuture.completedFuture(null);
+
 	// Compute all var handles all in one go so we don't do this during main server
 	// runtime
 	static {
@@ -196,6 +212,9 @@ public class NMS_1_20_R1 extends NMS_Common {
 
 		helpMapTopics = SafeVarHandle.ofOrNull(SimpleHelpMap.class, "helpTopics", "helpTopics", Map.class);
 		itemInput = SafeVarHandle.ofOrNull(ItemInput.class, "c", "tag", CompoundTag.class);
+		entitySelectorUsesSelector = SafeVarHandle.ofOrNull(EntitySelector.class, "p", "usesSelector", boolean.class);
+		functionManagerTicking = SafeVarHandle.ofOrNull(ServerFunctionManager.class, "f", "ticking", List.class);
+		functionManagerLibrary = SafeVarHandle.ofOrNull(ServerFunctionManager.class, "h", "library", ServerFunctionLibrary.class);
 	}
 
 	private static NamespacedKey fromResourceLocation(ResourceLocation key) {
@@ -284,8 +303,7 @@ public class NMS_1_20_R1 extends NMS_Common {
 
 	@Override
 	public final void createDispatcherFile(File file, CommandDispatcher<CommandSourceStack> dispatcher) throws IOException {
-		Files.asCharSink(file, StandardCharsets.UTF_8).write(new GsonBuilder().setPrettyPrinting().create()
-			.toJson(ArgumentUtils.serializeNodeToJson(dispatcher, dispatcher.getRoot())));
+		writeDispatcherFile(file, dispatcher, (brigadierDispatcher, node) -> ArgumentUtils.serializeNodeToJson(brigadierDispatcher, node));
 	}
 
 	@Override
@@ -356,11 +374,7 @@ public class NMS_1_20_R1 extends NMS_Common {
 		// trying to allow entity selectors to be used by anyone that registers a
 		// command via the CommandAPI.
 		EntitySelector argument = cmdCtx.getArgument(str, EntitySelector.class);
-		try {
-			CommandAPIHandler.getField(EntitySelector.class, "p", "usesSelector").set(argument, false);
-		} catch (IllegalArgumentException | IllegalAccessException e1) {
-			e1.printStackTrace();
-		}
+		entitySelectorUsesSelector.set(argument, false);
 
 		return switch (subType) {
 			case ENTITYSELECTOR_MANY_ENTITIES:
@@ -558,18 +572,19 @@ public class NMS_1_20_R1 extends NMS_Common {
 			// however this may also be null, so delegate to the next most-meaningful sender.
 			sender = Bukkit.getConsoleSender();
 		}
-		Vec3 pos = css.getPosition();
-		Vec2 rot = css.getRotation();
-		World world = getWorldForCSS(css);
-		Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
-
 		Entity proxyEntity = css.getEntity();
 		CommandSender proxy = proxyEntity == null ? null : proxyEntity.getBukkitEntity();
 		if (isNative || (proxy != null && !sender.equals(proxy))) {
 			if (proxy == null) {
 				proxy = sender;
 			}
-			
+
+			// Only proxied senders need to know where the command was run
+			Vec3 pos = css.getPosition();
+			Vec2 rot = css.getRotation();
+			World world = getWorldForCSS(css);
+			Location location = new Location(world, pos.x(), pos.y(), pos.z(), rot.y, rot.x);
+
 			return new BukkitNativeProxyCommandSender(new NativeProxyCommandSender(sender, proxy, location, world));
 		} else {
 			return wrapCommandSender(sender);
@@ -642,31 +657,122 @@ public class NMS_1_20_R1 extends NMS_Common {
 
 	@Override
 	public final void reloadDataPacks() {
+		CompletableFuture<DatapackReloadTimings> reload = reloadDataPacksAsync();
+
+		// Block the thread until everything's done. The last phases run on the
+		// main thread, which managedBlock keeps running while we wait
+		if (this.<MinecraftServer>getMinecraftServer().isSameThread()) {
+			this.<MinecraftServer>getMinecraftServer().managedBlock(reload::isDone);
+		}
+	}
+
+	@Override
+	public final synchronized CompletableFuture<DatapackReloadTimings> reloadDataPacksAsync() {
+		// Wait for any reload that is still running, whether or not it worked
+		latestReload = latestReload
+			.handle((timings, exception) -> null)
+			.thenComposeAsync(unused -> startDataPackReload(), this.<MinecraftServer>getMinecraftServer());
+		return latestReload;
+	}
+
+	private CompletableFuture<DatapackReloadTimings> startDataPackReload() {
+		if (!CommandAPIBukkit.getConfiguration().shouldReloadDatapacksIncrementally()) {
+			return reloadAllDataPacksAsync();
+		}
+
+		// If only recompiling functions doesn't work, reload everything like we used to
+		return reloadFunctionsAsync().exceptionallyComposeAsync(exception -> {
+			CommandAPI.logWarning("Failed to recompile datapack functions, reloading all datapacks instead: " + exception.getMessage());
+			return reloadAllDataPacksAsync();
+		}, this.<MinecraftServer>getMinecraftServer());
+	}
+
+	/**
+	 * Recompiles datapack functions with the CommandAPI's commands, so they can
+	 * be used in datapacks. Unlike {@link #reloadAllDataPacksAsync()}, no other
+	 * resources (loot tables, recipes, tags, etc.) are reloaded, and packs are
+	 * read from the server's current resource manager instead of being opened
+	 * again.
+	 */
+	private CompletableFuture<DatapackReloadTimings> reloadFunctionsAsync() {
+		CommandAPI.logNormal("Recompiling datapack functions...");
+		final long start = System.nanoTime();
+		final Map<String, Duration> phases = new LinkedHashMap<>();
+		final MinecraftServer server = this.<MinecraftServer>getMinecraftServer();
+
+		// Update the commandDispatcher with the current server's commandDispatcher
+		ReloadableResources serverResources = server.resources;
+		serverResources.managers().commands = server.getCommands();
+
+		// Update the ServerFunctionLibrary's command dispatcher with the new one
+		ServerFunctionLibrary functionLibrary = serverResources.managers().getFunctionLibrary();
+		try {
+			CommandAPIHandler.getField(ServerFunctionLibrary.class, "g", "dispatcher").set(functionLibrary, getBrigadierDispatcher());
+		} catch (ReflectiveOperationException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		phases.put("link dispatcher", Duration.ofNanos(System.nanoTime() - start));
+
+		// Only reload the function library, which compiles functions with its dispatcher
+		final long compileStart = System.nanoTime();
+		CompletableFuture<?> reload = SimpleReloadInstance.create(
+			serverResources.resourceManager(), List.of(functionLibrary), server.executor, server,
+			CompletableFuture.completedFuture(Unit.INSTANCE), LogUtils.getLogger().isDebugEnabled()).done();
+
+		return reload.thenApplyAsync(result -> {
+			phases.put("compile functions", Duration.ofNanos(System.nanoTime() - compileStart));
+
+			long syncStart = System.nanoTime();
+			server.server.syncCommands();
+			commandPackets.invalidateAll();
+			phases.put("sync commands", Duration.ofNanos(System.nanoTime() - syncStart));
+
+			DatapackReloadTimings timings = new DatapackReloadTimings(phases, Duration.ofNanos(System.nanoTime() - start));
+			CommandAPI.logNormal("Finished recompiling datapack functions in " + timings);
+			return timings;
+		}, server);
+	}
+
+	/**
+	 * Reloads every datapack resource, like {@code /minecraft:reload}, with the
+	 * CommandAPI's commands. Resources are loaded into a new set of managers,
+	 * so the server keeps using its current resources until they are swapped
+	 * in on the main thread.
+	 */
+	private CompletableFuture<DatapackReloadTimings> reloadAllDataPacksAsync() {
 		CommandAPI.logNormal("Reloading datapacks...");
+		final long start = System.nanoTime();
+		final Map<String, Duration> phases = new LinkedHashMap<>();
+		final MinecraftServer server = this.<MinecraftServer>getMinecraftServer();
 
 		// Get previously declared recipes to be re-registered later
 		Iterator<Recipe> recipes = Bukkit.recipeIterator();
 
-		// Update the commandDispatcher with the current server's commandDispatcher
-		ReloadableResources serverResources = this.<MinecraftServer>getMinecraftServer().resources;
-		serverResources.managers().commands = this.<MinecraftServer>getMinecraftServer().getCommands();
+		// From ReloadableServerResources.loadResources. Create new managers that use
+		// the current server's commandDispatcher
+		Frozen registryAccess = server.registryAccess();
+		ReloadableServerResources managers = new ReloadableServerResources(registryAccess,
+			server.getWorldData().enabledFeatures(),
+			server.isDedicatedServer() ? CommandSelection.DEDICATED : CommandSelection.INTEGRATED,
+			server.getFunctionCompilationLevel());
+		managers.commands = server.getCommands();
 
 		// Update the ServerFunctionLibrary's command dispatcher with the new one
 		try {
 			CommandAPIHandler.getField(ServerFunctionLibrary.class, "g", "dispatcher")
-				.set(serverResources.managers().getFunctionLibrary(), getBrigadierDispatcher());
+				.set(managers.getFunctionLibrary(), getBrigadierDispatcher());
 		} catch (ReflectiveOperationException e) {
-			e.printStackTrace();
+			return CompletableFuture.failedFuture(e);
 		}
 
-		// From this.<MinecraftServer>getMinecraftServer().reloadResources //
+		// From server.reloadResources //
 		// Discover new packs
 		Collection<String> collection;
 		{
-			List<String> packIDs = new ArrayList<>(this.<MinecraftServer>getMinecraftServer().getPackRepository().getSelectedIds());
-			List<String> disabledPacks = this.<MinecraftServer>getMinecraftServer().getWorldData().getDataConfiguration().dataPacks().getDisabled();
+			List<String> packIDs = new ArrayList<>(server.getPackRepository().getSelectedIds());
+			List<String> disabledPacks = server.getWorldData().getDataConfiguration().dataPacks().getDisabled();
 
-			for (String availablePack : this.<MinecraftServer>getMinecraftServer().getPackRepository().getAvailableIds()) {
+			for (String availablePack : server.getPackRepository().getAvailableIds()) {
 				// Add every other available pack that is not disabled
 				// and is not already in the list of existing packs
 				if (!disabledPacks.contains(availablePack) && !packIDs.contains(availablePack)) {
@@ -676,12 +782,13 @@ public class NMS_1_20_R1 extends NMS_Common {
 			collection = packIDs;
 		}
 
-		Frozen registryAccess = this.<MinecraftServer>getMinecraftServer().registryAccess();
+		phases.put("discover packs", Duration.ofNanos(System.nanoTime() - start));
 
 		// Step 1: Construct an async supplier of a list of all resource packs to
 		// be loaded in the reload phase
 		CompletableFuture<List<PackResources>> first = CompletableFuture.supplyAsync(() -> {
-			PackRepository serverPackRepository = this.<MinecraftServer>getMinecraftServer().getPackRepository();
+			long phaseStart = System.nanoTime();
+			PackRepository serverPackRepository = server.getPackRepository();
 
 			List<PackResources> packResources = new ArrayList<>();
 			for (String packID : collection) {
@@ -690,78 +797,130 @@ public class NMS_1_20_R1 extends NMS_Common {
 					packResources.add(pack.open());
 				}
 			}
+			phases.put("open packs", Duration.ofNanos(System.nanoTime() - phaseStart));
 			return packResources;
 		});
 
-		// Step 2: Convert all of the resource packs into ReloadableResources which
-		// are replaced by our custom server resources with defined commands
+		// Step 2: Load all of the resource packs into the new managers, which
+		// compile functions with our custom server resources with defined commands
 		CompletableFuture<ReloadableResources> second = first.thenCompose(packResources -> {
+			long phaseStart = System.nanoTime();
 			MultiPackResourceManager resourceManager = new MultiPackResourceManager(PackType.SERVER_DATA,
 				packResources);
 
 			// Not using packResources, because we really really want this to work
 			CompletableFuture<?> simpleReloadInstance = SimpleReloadInstance.create(
-				resourceManager, serverResources.managers().listeners(), this.<MinecraftServer>getMinecraftServer().executor,
-				this.<MinecraftServer>getMinecraftServer(), CompletableFuture
+				resourceManager, managers.listeners(), server.executor,
+				server, CompletableFuture
 					.completedFuture(Unit.INSTANCE) /* ReloadableServerResources.DATA_RELOAD_INITIAL_TASK */,
 				LogUtils.getLogger().isDebugEnabled()).done();
 
-			return simpleReloadInstance.thenApply(x -> serverResources);
+			return simpleReloadInstance.handle((x, exception) -> {
+				if (exception != null) {
+					// These resources are never swapped in, so nothing else closes them
+					resourceManager.close();
+					throw new CompletionException(exception);
+				}
+				phases.put("load resources", Duration.ofNanos(System.nanoTime() - phaseStart));
+				return new ReloadableResources(resourceManager, managers);
+			});
 		});
 
-		// Step 3: Actually load all of the resources
+		// Step 3: Swap in the loaded resources. This changes the server's state,
+		// so it all happens in one task on the main thread
 		CompletableFuture<Void> third = second.thenAcceptAsync(resources -> {
-			this.<MinecraftServer>getMinecraftServer().resources.close();
-			this.<MinecraftServer>getMinecraftServer().resources = serverResources;
-			this.<MinecraftServer>getMinecraftServer().server.syncCommands();
-			this.<MinecraftServer>getMinecraftServer().getPackRepository().setSelected(collection);
-
-			// this.<MinecraftServer>getMinecraftServer().getSelectedPacks
-			Collection<String> selectedIDs = this.<MinecraftServer>getMinecraftServer().getPackRepository().getSelectedIds();
+			long phaseStart = System.nanoTime();
+			server.resources.close();
+			server.resources = resources;
+			server.server.syncCommands();
+			server.getPackRepository().setSelected(collection);
+
+			// server.getSelectedPacks
+			Collection<String> selectedIDs = server.getPackRepository().getSelectedIds();
 			List<String> enabledIDs = ImmutableList.copyOf(selectedIDs);
-			List<String> disabledIDs = new ArrayList<>(this.<MinecraftServer>getMinecraftServer().getPackRepository().getAvailableIds());
+			List<String> disabledIDs = new ArrayList<>(server.getPackRepository().getAvailableIds());
 
 			disabledIDs.removeIf(enabledIDs::contains);
 
-			this.<MinecraftServer>getMinecraftServer().getWorldData().setDataConfiguration(new WorldDataConfiguration(new DataPackConfig(enabledIDs, disabledIDs), this.<MinecraftServer>getMinecraftServer().getWorldData().getDataConfiguration().enabledFeatures()));
-			this.<MinecraftServer>getMinecraftServer().resources.managers().updateRegistryTags(registryAccess);
+			server.getWorldData().setDataConfiguration(new WorldDataConfiguration(new DataPackConfig(enabledIDs, disabledIDs), server.getWorldData().getDataConfiguration().enabledFeatures()));
+			server.resources.managers().updateRegistryTags(registryAccess);
 			// May need to be commented out, may not. Comment it out just in case.
 			// For some reason, calling getPlayerList().saveAll() may just hang
 			// the server indefinitely. Not sure why!
-			// this.<MinecraftServer>getMinecraftServer().getPlayerList().saveAll();
-			// this.<MinecraftServer>getMinecraftServer().getPlayerList().reloadResources();
-			// this.<MinecraftServer>getMinecraftServer().getFunctions().replaceLibrary(this.<MinecraftServer>getMinecraftServer().resources.managers().getFunctionLibrary());
-			this.<MinecraftServer>getMinecraftServer().getStructureManager()
-				.onResourceManagerReload(this.<MinecraftServer>getMinecraftServer().resources.resourceManager());
-		});
-
-		// Step 4: Block the thread until everything's done
-		if (this.<MinecraftServer>getMinecraftServer().isSameThread()) {
-			this.<MinecraftServer>getMinecraftServer().managedBlock(third::isDone);
-		}
-
-		// Run the completableFuture (and bind tags?)
-		try {
+			// server.getPlayerList().saveAll();
+			// server.getPlayerList().reloadResources();
+			// server.getFunctions().replaceLibrary(server.resources.managers().getFunctionLibrary());
+			// replaceLibrary would run every #minecraft:load function again, so the new
+			// function library and its #minecraft:tick functions are swapped in directly
+			ServerFunctionLibrary functionLibrary = server.resources.managers().getFunctionLibrary();
+			functionManagerTicking.set(server.getFunctions(), ImmutableList.copyOf(functionLibrary.getTag(new ResourceLocation("minecraft", "tick"))));
+			functionManagerLibrary.set(server.getFunctions(), functionLibrary);
+			server.getStructureManager()
+				.onResourceManagerReload(server.resources.resourceManager());
+			phases.put("apply resources", Duration.ofNanos(System.nanoTime() - phaseStart));
 
 			// Register recipes again because reloading datapacks
 			// removes all non-vanilla recipes
+			phaseStart = System.nanoTime();
 			registerBukkitRecipesSafely(recipes);
+			commandPackets.invalidateAll();
+			phases.put("register recipes", Duration.ofNanos(System.nanoTime() - phaseStart));
+		}, server);
+
+		return third.handle((result, exception) -> {
+			if (exception != null) {
+				StringWriter stringWriter = new StringWriter();
+				PrintWriter printWriter = new PrintWriter(stringWriter);
+				exception.printStackTrace(printWriter);
+
+				CommandAPI.logError(
+					"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
+						+ stringWriter.toString());
+				throw new CompletionException(exception);
+			}
 
-			CommandAPI.logNormal("Finished reloading datapacks");
-		} catch (Exception e) {
-			StringWriter stringWriter = new StringWriter();
-			PrintWriter printWriter = new PrintWriter(stringWriter);
-			e.printStackTrace(printWriter);
+			DatapackReloadTimings timings = new DatapackReloadTimings(phases, Duration.ofNanos(System.nanoTime() - start));
+			CommandAPI.logNormal("Finished reloading datapacks in " + timings);
+			return timings;
+		});
+	}
 
-			CommandAPI.logError(
-				"Failed to load datapacks, can't proceed with normal server load procedure. Try fixing your datapacks?\n"
-					+ stringWriter.toString());
+	@Override
+	public final void resendPackets(Player player) {
+		ServerPlayer handle = ((CraftPlayer) player).getHandle();
+		// Paper already builds command trees off the main thread, and has its own events for them
+		if (CommandAPIBukkit.getConfiguration().shouldCacheCommandPackets() && getPaper() != null && !getPaper().isPaperPresent()) {
+			commandPackets.sendCommands(this.<MinecraftServer>getMinecraftServer(), handle);
+		} else {
+			this.<MinecraftServer>getMinecraftServer().getCommands().sendCommands(handle);
 		}
 	}
 
 	@Override
-	public final void resendPackets(Player player) {
-		this.<MinecraftServer>getMinecraftServer().getCommands().sendCommands(((CraftPlayer) player).getHandle());
+	public final void resendPackets(Collection<? extends Player> players) {
+		if (CommandAPIBukkit.getConfiguration().shouldCacheCommandPackets() && getPaper() != null && !getPaper().isPaperPresent()) {
+			List<ServerPlayer> handles = new ArrayList<>(players.size());
+			for (Player player : players) {
+				handles.add(((CraftPlayer) player).getHandle());
+			}
+			commandPackets.sendCommands(this.<MinecraftServer>getMinecraftServer(), handles);
+		} else {
+			for (Player player : players) {
+				resendPackets(player);
+			}
+		}
+	}
+
+	@Override
+	public void postCommandRegistration(LiteralCommandNode<CommandSourceStack> resultantNode, List<LiteralCommandNode<CommandSourceStack>> aliasNodes) {
+		super.postCommandRegistration(resultantNode, aliasNodes);
+		commandPackets.invalidateAll();
+	}
+
+	@Override
+	public void unregister(String commandName, boolean force) {
+		super.unregister(commandName, force);
+		commandPackets.invalidateAll();
 	}
 
 	@Override
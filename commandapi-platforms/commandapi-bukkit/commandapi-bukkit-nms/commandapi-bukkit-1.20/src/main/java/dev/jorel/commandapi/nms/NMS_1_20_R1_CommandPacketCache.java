@@ -0,0 +1,268 @@
+package dev.jorel.commandapi.nms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.spigotmc.SpigotConfig;
+
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
+import com.mojang.brigadier.tree.CommandNode;
+import com.mojang.brigadier.tree.RootCommandNode;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.synchronization.SuggestionProviders;
+import net.minecraft.network.protocol.game.ClientboundCommandsPacket;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Sends the command tree to players, like {@code Commands#sendCommands}, but
+ * reuses the command tree packet for players that can use exactly the same
+ * commands. Which commands a player can use is found by checking the
+ * requirements of each command node, which is much cheaper than building and
+ * serializing a new command tree for every player when lots of players join at
+ * once. Players whose commands are resent together are grouped by the commands
+ * they can use, and each group's packet is built once.
+ */
+public class NMS_1_20_R1_CommandPacketCache {
+
+	// Players usually fall into a few groups (e.g. default, staff, admin)
+	private static final int MAX_CACHED_PACKETS = 64;
+
+	/**
+	 * The command nodes a player can use, in the order they were checked, and the
+	 * commands that were hidden from them by a {@link PlayerCommandSendEvent}.
+	 * Nodes are compared by identity, so changes to the command tree create
+	 * different fingerprints.
+	 */
+	private static final class Fingerprint {
+		private final CommandNode<?>[] usableNodes;
+		private final Set<String> hiddenCommands;
+		private final int hashCode;
+
+		Fingerprint(List<CommandNode<CommandSourceStack>> usableNodes, Set<String> hiddenCommands) {
+			this.usableNodes = usableNodes.toArray(new CommandNode<?>[0]);
+			this.hiddenCommands = hiddenCommands;
+
+			int hash = hiddenCommands.hashCode();
+			for (CommandNode<?> node : this.usableNodes) {
+				hash = 31 * hash + System.identityHashCode(node);
+			}
+			this.hashCode = hash;
+		}
+
+		Set<CommandNode<?>> usableNodes() {
+			Set<CommandNode<?>> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+			nodes.addAll(Arrays.asList(usableNodes));
+			return nodes;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Fingerprint other) || hashCode != other.hashCode
+				|| usableNodes.length != other.usableNodes.length || !hiddenCommands.equals(other.hiddenCommands)) {
+				return false;
+			}
+			for (int i = 0; i < usableNodes.length; i++) {
+				if (usableNodes[i] != other.usableNodes[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	// Least recently used packets are removed first. Guarded by itself
+	private final Map<Fingerprint, ClientboundCommandsPacket> packets = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Fingerprint, ClientboundCommandsPacket> eldest) {
+			return size() > MAX_CACHED_PACKETS;
+		}
+	};
+
+	/**
+	 * Sends the commands that a player can use to that player
+	 *
+	 * @param server the Minecraft server
+	 * @param player the player to send commands to
+	 */
+	public void sendCommands(MinecraftServer server, ServerPlayer player) {
+		if (SpigotConfig.tabComplete < 0) {
+			// Same as Commands#sendCommands, command trees are turned off
+			return;
+		}
+
+		player.connection.send(getPacket(server, fingerprint(server, player)));
+	}
+
+	/**
+	 * Sends the commands that some players can use to those players. The command
+	 * tree packet is built once for each group of players that can use the same
+	 * commands, even if there are more groups than packets that are cached.
+	 *
+	 * @param server  the Minecraft server
+	 * @param players the players to send commands to
+	 */
+	public void sendCommands(MinecraftServer server, Collection<ServerPlayer> players) {
+		if (SpigotConfig.tabComplete < 0) {
+			// Same as Commands#sendCommands, command trees are turned off
+			return;
+		}
+
+		Map<Fingerprint, List<ServerPlayer>> groups = new LinkedHashMap<>();
+		for (ServerPlayer player : players) {
+			groups.computeIfAbsent(fingerprint(server, player), fingerprint -> new ArrayList<>()).add(player);
+		}
+		for (Map.Entry<Fingerprint, List<ServerPlayer>> group : groups.entrySet()) {
+			ClientboundCommandsPacket packet = getPacket(server, group.getKey());
+			for (ServerPlayer player : group.getValue()) {
+				player.connection.send(packet);
+			}
+		}
+	}
+
+	// Finds which commands a player can use
+	private static Fingerprint fingerprint(MinecraftServer server, ServerPlayer player) {
+		RootCommandNode<CommandSourceStack> vanillaRoot = server.vanillaCommandDispatcher.getDispatcher().getRoot();
+		RootCommandNode<CommandSourceStack> root = server.getCommands().getDispatcher().getRoot();
+		CommandSourceStack source = player.createCommandSourceStack();
+
+		// Vanilla commands are checked first, because commands in the server's
+		// dispatcher can redirect to them
+		List<CommandNode<CommandSourceStack>> usableNodes = new ArrayList<>();
+		findUsableNodes(vanillaRoot, source, usableNodes);
+
+		Set<String> commands = new LinkedHashSet<>();
+		for (CommandNode<CommandSourceStack> node : root.getChildren()) {
+			if (canUse(node, source)) {
+				commands.add(node.getName());
+				usableNodes.add(node);
+				findUsableNodes(node, source, usableNodes);
+			}
+		}
+
+		// Plugins can hide commands from each player
+		PlayerCommandSendEvent event = new PlayerCommandSendEvent(player.getBukkitEntity(), new LinkedHashSet<>(commands));
+		Bukkit.getPluginManager().callEvent(event);
+		Set<String> hiddenCommands = new HashSet<>();
+		for (String command : commands) {
+			if (!event.getCommands().contains(command)) {
+				hiddenCommands.add(command);
+			}
+		}
+
+		return new Fingerprint(usableNodes, hiddenCommands);
+	}
+
+	private ClientboundCommandsPacket getPacket(MinecraftServer server, Fingerprint fingerprint) {
+		ClientboundCommandsPacket packet;
+		synchronized (packets) {
+			packet = packets.get(fingerprint);
+		}
+		if (packet == null) {
+			packet = buildPacket(server.vanillaCommandDispatcher.getDispatcher().getRoot(),
+				server.getCommands().getDispatcher().getRoot(), fingerprint.usableNodes(), fingerprint.hiddenCommands);
+			synchronized (packets) {
+				packets.put(fingerprint, packet);
+			}
+		}
+		return packet;
+	}
+
+	/**
+	 * Forgets all cached packets. This should be called when commands are
+	 * registered, unregistered or reloaded, because command nodes can be changed
+	 * without changing which nodes a player can use.
+	 */
+	public void invalidateAll() {
+		synchronized (packets) {
+			packets.clear();
+		}
+	}
+
+	private static boolean canUse(CommandNode<CommandSourceStack> node, CommandSourceStack source) {
+		// Spigot's send-namespaced option hides commands like /minecraft:tp
+		return (SpigotConfig.sendNamespaced || !node.getName().contains(":")) && node.canUse(source);
+	}
+
+	private static void findUsableNodes(CommandNode<CommandSourceStack> tree, CommandSourceStack source,
+		List<CommandNode<CommandSourceStack>> usableNodes) {
+		for (CommandNode<CommandSourceStack> node : tree.getChildren()) {
+			if (canUse(node, source)) {
+				usableNodes.add(node);
+				findUsableNodes(node, source, usableNodes);
+			}
+		}
+	}
+
+	private static ClientboundCommandsPacket buildPacket(RootCommandNode<CommandSourceStack> vanillaRoot,
+		RootCommandNode<CommandSourceStack> root, Set<CommandNode<?>> usableNodes, Set<String> hiddenCommands) {
+		Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> nodes = new IdentityHashMap<>();
+
+		RootCommandNode<SharedSuggestionProvider> vanillaResult = new RootCommandNode<>();
+		nodes.put(vanillaRoot, vanillaResult);
+		fillUsableCommands(vanillaRoot, vanillaResult, usableNodes, Set.of(), nodes);
+
+		RootCommandNode<SharedSuggestionProvider> result = new RootCommandNode<>();
+		nodes.put(root, result);
+		fillUsableCommands(root, result, usableNodes, hiddenCommands, nodes);
+
+		return new ClientboundCommandsPacket(result);
+	}
+
+	// From Commands#fillUsableCommands
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void fillUsableCommands(CommandNode<CommandSourceStack> tree, CommandNode<SharedSuggestionProvider> result,
+		Set<CommandNode<?>> usableNodes, Set<String> hiddenCommands,
+		Map<CommandNode<CommandSourceStack>, CommandNode<SharedSuggestionProvider>> nodes) {
+		for (CommandNode<CommandSourceStack> node : tree.getChildren()) {
+			if (!usableNodes.contains(node)) {
+				continue;
+			}
+
+			ArgumentBuilder<SharedSuggestionProvider, ?> builder = (ArgumentBuilder) node.createBuilder();
+			builder.requires(source -> true);
+			if (builder.getCommand() != null) {
+				builder.executes(context -> 0);
+			}
+			if (builder instanceof RequiredArgumentBuilder requiredBuilder && requiredBuilder.getSuggestionsProvider() != null) {
+				requiredBuilder.suggests(SuggestionProviders.safelyUnwrap(requiredBuilder.getSuggestionsProvider()));
+			}
+			if (builder.getRedirect() != null) {
+				builder.redirect(nodes.get(builder.getRedirect()));
+			}
+
+			CommandNode<SharedSuggestionProvider> child = builder.build();
+			nodes.put(node, child);
+			// Commands hidden by PlayerCommandSendEvent can still be redirected to
+			if (!hiddenCommands.contains(node.getName())) {
+				result.addChild(child);
+			}
+			if (!node.getChildren().isEmpty()) {
+				fillUsableCommands(node, child, usableNodes, Set.of(), nodes);
+			}
+		}
+	}
+
+}
@@ -53,8 +53,13 @@ public class CommandAPIMain extends JavaPlugin {
 			.useLatestNMSVersion(fileConfig.getBoolean("use-latest-nms-version"))
 			.missingExecutorImplementationMessage(fileConfig.getString("messages.missing-executor-implementation"))
 			.dispatcherFile(fileConfig.getBoolean("create-dispatcher-json") ? new File(getDataFolder(), "command_registration.json") : null)
+			.batchDispatcherFileWrites(fileConfig.getBoolean("batch-dispatcher-json"))
 			.initializeNBTAPI(NBTContainer.class, NBTContainer::new)
-			.shouldHookPaperReload(fileConfig.getBoolean("hook-paper-reload"));
+			.shouldHookPaperReload(fileConfig.getBoolean("hook-paper-reload"))
+			.cacheCommandPackets(fileConfig.getBoolean("cache-command-packets"))
+			.coalesceRequirementUpdates(fileConfig.getBoolean("coalesce-requirement-updates"))
+			.asyncDatapackReload(fileConfig.getBoolean("async-datapack-reload"))
+			.incrementalDatapackReload(fileConfig.getBoolean("incremental-datapack-reload"));
 
 		for (String pluginName : fileConfig.getStringList("skip-sender-proxy")) {
 			if (Bukkit.getPluginManager().getPlugin(pluginName) != null) {
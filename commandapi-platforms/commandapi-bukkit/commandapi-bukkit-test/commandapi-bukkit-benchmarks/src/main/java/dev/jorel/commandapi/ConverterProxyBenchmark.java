@@ -0,0 +1,160 @@
+package dev.jorel.commandapi;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.LivingEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dev.jorel.commandapi.benchmarks.BenchmarkServer;
+import dev.jorel.commandapi.wrappers.NativeProxyCommandSender;
+
+/**
+ * Measures the cost of the merged proxy senders that converted commands are
+ * run with. This lives in the {@code dev.jorel.commandapi} package so that it
+ * can call {@link Converter#mergeProxySender(NativeProxyCommandSender)}
+ * directly. The {@code Baseline} benchmarks create a new proxy and look up
+ * methods by reflection every time, like the Converter used to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterProxyBenchmark {
+
+	private BenchmarkServer server;
+	private NativeProxyCommandSender proxySender;
+	private CommandSender mergedSender;
+	private CommandSender baselineSender;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		server = BenchmarkServer.start();
+		World world = server.server.addSimpleWorld("world");
+		Location location = new Location(world, 10, 64, 10);
+		proxySender = new NativeProxyCommandSender(server.player, server.player, location, world);
+		mergedSender = Converter.mergeProxySender(proxySender);
+		baselineSender = mergeProxySenderBaseline(proxySender);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.stop();
+	}
+
+	/**
+	 * Creates a merged sender, which happens every time a converted command is
+	 * run
+	 */
+	@Benchmark
+	public CommandSender createSender() {
+		return Converter.mergeProxySender(proxySender);
+	}
+
+	/**
+	 * Calls methods that go to the caller, the callee and the proxy sender
+	 */
+	@Benchmark
+	public void invokeMethods(Blackhole blackhole) {
+		blackhole.consume(mergedSender.getName());
+		blackhole.consume(mergedSender.hasPermission("commandapi.benchmark"));
+		blackhole.consume(mergedSender.isOp());
+		blackhole.consume(mergedSender.getServer());
+	}
+
+	/**
+	 * Creates a merged sender and uses it, like a typical converted command
+	 */
+	@Benchmark
+	public void createAndInvoke(Blackhole blackhole) {
+		CommandSender sender = Converter.mergeProxySender(proxySender);
+		blackhole.consume(sender.getName());
+		blackhole.consume(sender.hasPermission("commandapi.benchmark"));
+	}
+
+	@Benchmark
+	public CommandSender createSenderBaseline() {
+		return mergeProxySenderBaseline(proxySender);
+	}
+
+	@Benchmark
+	public void invokeMethodsBaseline(Blackhole blackhole) {
+		blackhole.consume(baselineSender.getName());
+		blackhole.consume(baselineSender.hasPermission("commandapi.benchmark"));
+		blackhole.consume(baselineSender.isOp());
+		blackhole.consume(baselineSender.getServer());
+	}
+
+	@Benchmark
+	public void createAndInvokeBaseline(Blackhole blackhole) {
+		CommandSender sender = mergeProxySenderBaseline(proxySender);
+		blackhole.consume(sender.getName());
+		blackhole.consume(sender.hasPermission("commandapi.benchmark"));
+	}
+
+	private static final Set<String> CALLER_METHODS = Set.of("isPermissionSet", "hasPermission",
+		"addAttachment", "removeAttachment", "recalculatePermissions", "getEffectivePermissions", "isOp", "setOp");
+
+	// A copy of how Converter#mergeProxySender worked before proxy classes were cached
+	private static CommandSender mergeProxySenderBaseline(NativeProxyCommandSender proxySender) {
+		// Add all interfaces
+		Set<Class<?>> calleeInterfacesList = new HashSet<>();
+		Class<?> currentClass = proxySender.getCallee().getClass();
+		if (currentClass.isInterface()) {
+			calleeInterfacesList.add(currentClass);
+		}
+		while (currentClass != null) {
+			calleeInterfacesList.addAll(Arrays.asList(currentClass.getInterfaces()));
+			currentClass = currentClass.getSuperclass();
+		}
+		Class<?>[] calleeInterfaces = calleeInterfacesList.toArray(new Class<?>[0]);
+
+		InvocationHandler handler = (Object p, Method method, Object[] args) -> {
+			switch (method.getName()) {
+				case "getLocation":
+					return proxySender.getLocation();
+				case "getBlock":
+					return proxySender.getLocation().getBlock();
+				case "getEyeLocation":
+					if (proxySender.getCallee() instanceof LivingEntity livingEntity) {
+						Location loc = proxySender.getLocation();
+						loc.setY(loc.getY() + livingEntity.getEyeHeight());
+						return loc;
+					} else {
+						return proxySender.getLocation();
+					}
+				case "getWorld":
+					return proxySender.getWorld();
+				default:
+					return method.invoke(
+						CALLER_METHODS.contains(method.getName()) ? proxySender.getCaller() : proxySender.getCallee(),
+						args);
+			}
+		};
+
+		return (CommandSender) Proxy.newProxyInstance(CommandSender.class.getClassLoader(), calleeInterfaces, handler);
+	}
+
+}
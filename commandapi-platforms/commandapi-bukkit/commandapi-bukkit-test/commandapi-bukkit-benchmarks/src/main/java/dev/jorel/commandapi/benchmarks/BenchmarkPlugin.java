@@ -0,0 +1,50 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.io.File;
+
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPIBukkitConfig;
+import dev.jorel.commandapi.CommandAPILogger;
+
+/**
+ * The plugin that loads the CommandAPI for benchmarks. This is the same as the
+ * test plugin, except it doesn't write a dispatcher file, because writing the
+ * file after every registration would drown out everything else.
+ */
+public class BenchmarkPlugin extends JavaPlugin {
+
+	static final PluginDescriptionFile DESCRIPTION = new PluginDescriptionFile("CommandAPIBenchmark", "0.0.1",
+		BenchmarkPlugin.class.getName());
+
+	@Override
+	public void onLoad() {
+		CommandAPI.setLogger(CommandAPILogger.fromJavaLogger(getLogger()));
+		CommandAPI.onLoad(new CommandAPIBukkitConfig(this)
+			.useLatestNMSVersion(true) // Doesn't matter because the test implementation provides CommandAPIVersionHandler
+			.silentLogs(true));
+	}
+
+	@Override
+	public void onEnable() {
+		CommandAPI.onEnable();
+	}
+
+	@Override
+	public void onDisable() {
+		CommandAPI.onDisable();
+	}
+
+	// Additional constructors required for MockBukkit
+	public BenchmarkPlugin() {
+		super();
+	}
+
+	public BenchmarkPlugin(JavaPluginLoader loader, PluginDescriptionFile description, File dataFolder, File file) {
+		super(loader, description, dataFolder, file);
+	}
+
+}
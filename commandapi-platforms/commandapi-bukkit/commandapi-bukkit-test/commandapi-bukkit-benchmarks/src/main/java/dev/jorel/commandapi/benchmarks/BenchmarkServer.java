@@ -0,0 +1,69 @@
+package dev.jorel.commandapi.benchmarks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.Brigadier;
+import dev.jorel.commandapi.CommandAPIVersionHandler;
+import dev.jorel.commandapi.SafeVarHandle;
+import dev.jorel.commandapi.test.CommandAPIServerMock;
+import dev.jorel.commandapi.test.MockPlatform;
+
+/**
+ * A mocked server with the CommandAPI loaded, set up the same way as
+ * {@code TestBase} sets up the server for tests. Each benchmark state starts
+ * one of these in its {@code @Setup} method and stops it in its
+ * {@code @TearDown} method.
+ */
+public class BenchmarkServer {
+
+	public final CommandAPIServerMock server;
+	public final BenchmarkPlugin plugin;
+	public final PlayerMock player;
+
+	@SuppressWarnings("rawtypes")
+	private final CommandDispatcher dispatcher;
+
+	private BenchmarkServer() {
+		if (CommandAPIVersionHandler.IS_MOJANG_MAPPED) {
+			SafeVarHandle.USING_MOJANG_MAPPINGS = true;
+		}
+		this.server = MockBukkit.mock(new CommandAPIServerMock());
+		this.plugin = MockBukkit.loadWith(BenchmarkPlugin.class, BenchmarkPlugin.DESCRIPTION);
+		this.player = server.addPlayer();
+		this.dispatcher = Brigadier.getCommandDispatcher();
+	}
+
+	public static BenchmarkServer start() {
+		return new BenchmarkServer();
+	}
+
+	public void stop() {
+		Bukkit.getScheduler().cancelTasks(plugin);
+		plugin.onDisable();
+		MockBukkit.unmock();
+		MockPlatform.unload();
+	}
+
+	/**
+	 * Runs a command through Brigadier, the same way the server would. Unlike
+	 * {@link CommandAPIServerMock#dispatchThrowableCommand(CommandSender, String)},
+	 * this doesn't look the command up in Bukkit's command map first, so only
+	 * the CommandAPI and Brigadier are measured.
+	 *
+	 * @param sender      the sender of the command
+	 * @param commandLine the command to run, without the leading {@code /}
+	 * @return the result of the command
+	 * @throws CommandSyntaxException if the command could not be parsed or failed
+	 */
+	@SuppressWarnings("unchecked")
+	public int dispatch(CommandSender sender, String commandLine) throws CommandSyntaxException {
+		return dispatcher.execute(commandLine, Brigadier.getBrigadierSourceFromCommandSender(sender));
+	}
+
+}
@@ -0,0 +1,176 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandTree;
+import dev.jorel.commandapi.arguments.BooleanArgument;
+import dev.jorel.commandapi.arguments.CustomArgument;
+import dev.jorel.commandapi.arguments.CustomArgument.CustomArgumentException;
+import dev.jorel.commandapi.arguments.CustomArgument.MessageBuilder;
+import dev.jorel.commandapi.arguments.DoubleArgument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.ListArgumentBuilder;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+import dev.jorel.commandapi.arguments.MapArgumentBuilder;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.executors.PlayerCommandExecutor;
+
+/**
+ * Measures how long it takes to run commands with different kinds of
+ * arguments, from Brigadier parsing the input to the CommandAPI calling the
+ * command's executor. Run with {@code -prof gc} to see how much each command
+ * allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandExecutionBenchmark {
+
+	private BenchmarkServer server;
+
+	// Written by every executor so that the arguments are actually used
+	private Object result;
+
+	private final PlayerCommandExecutor storeFirstArgument = (player, args) -> result = args.get(0);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		server = BenchmarkServer.start();
+		server.server.addSimpleWorld("world");
+
+		new CommandAPICommand("literal")
+			.executesPlayer((player, args) -> {
+				result = player;
+			})
+			.register();
+
+		new CommandAPICommand("primitives")
+			.withArguments(new IntegerArgument("int"), new DoubleArgument("double"), new BooleanArgument("bool"), new StringArgument("string"))
+			.executesPlayer((player, args) -> {
+				result = args.get("string");
+			})
+			.register();
+
+		new CommandAPICommand("map")
+			.withArguments(new MapArgumentBuilder<String, Integer>("map")
+				.withKeyMapper(s -> s)
+				.withValueMapper(Integer::valueOf)
+				.withoutKeyList()
+				.withoutValueList()
+				.build())
+			.executesPlayer(storeFirstArgument)
+			.register();
+
+		new CommandAPICommand("list")
+			.withArguments(new ListArgumentBuilder<String>("list")
+				.withList(List.of("cat", "wolf", "axolotl", "parrot", "fox", "bee", "goat", "frog"))
+				.withStringMapper()
+				.buildGreedy())
+			.executesPlayer(storeFirstArgument)
+			.register();
+
+		new CommandAPICommand("custom")
+			.withArguments(new CustomArgument<World, String>(new StringArgument("world"), info -> {
+				World world = Bukkit.getWorld(info.input());
+				if (world == null) {
+					throw CustomArgumentException.fromMessageBuilder(new MessageBuilder("Unknown world: ").appendArgInput());
+				}
+				return world;
+			}))
+			.executesPlayer(storeFirstArgument)
+			.register();
+
+		new CommandTree("tree")
+			.then(new LiteralArgument("give")
+				.then(new StringArgument("item")
+					.then(new IntegerArgument("amount").executesPlayer(storeFirstArgument))))
+			.then(new LiteralArgument("take")
+				.then(new StringArgument("item").executesPlayer(storeFirstArgument)))
+			.then(new LiteralArgument("clear").executesPlayer(storeFirstArgument))
+			.register();
+
+		new CommandAPICommand("optional")
+			.withArguments(new StringArgument("required"))
+			.withOptionalArguments(new IntegerArgument("first"), new IntegerArgument("second"))
+			.executesPlayer((player, args) -> {
+				result = args.getOrDefault("second", 0);
+			})
+			.register();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.stop();
+	}
+
+	@Benchmark
+	public Object literal() throws CommandSyntaxException {
+		server.dispatch(server.player, "literal");
+		return result;
+	}
+
+	@Benchmark
+	public Object primitiveArguments() throws CommandSyntaxException {
+		server.dispatch(server.player, "primitives 10 2.5 true hello");
+		return result;
+	}
+
+	@Benchmark
+	public Object mapArgument() throws CommandSyntaxException {
+		server.dispatch(server.player, "map first:1 second:2 third:3");
+		return result;
+	}
+
+	@Benchmark
+	public Object listArgument() throws CommandSyntaxException {
+		server.dispatch(server.player, "list cat fox goat");
+		return result;
+	}
+
+	@Benchmark
+	public Object customArgument() throws CommandSyntaxException {
+		server.dispatch(server.player, "custom world");
+		return result;
+	}
+
+	@Benchmark
+	public Object subcommandTree() throws CommandSyntaxException {
+		server.dispatch(server.player, "tree give diamond 64");
+		return result;
+	}
+
+	@Benchmark
+	public Object optionalArgumentsOmitted() throws CommandSyntaxException {
+		server.dispatch(server.player, "optional hello");
+		return result;
+	}
+
+	@Benchmark
+	public Object optionalArgumentsGiven() throws CommandSyntaxException {
+		server.dispatch(server.player, "optional hello 1 2");
+		return result;
+	}
+
+}
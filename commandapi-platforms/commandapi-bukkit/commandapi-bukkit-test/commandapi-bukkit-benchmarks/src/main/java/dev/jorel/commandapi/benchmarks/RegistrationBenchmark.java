@@ -0,0 +1,109 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import dev.jorel.commandapi.CommandAPI;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.LiteralArgument;
+import dev.jorel.commandapi.arguments.PlayerArgument;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.executors.PlayerCommandExecutor;
+
+/**
+ * Measures how long it takes to register commands with the CommandAPI, and to
+ * rebuild them the way a datapack reload does. Every iteration runs the
+ * benchmark once on a fresh server, so each measurement starts from the same
+ * state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class RegistrationBenchmark {
+
+	private static final PlayerCommandExecutor EXECUTOR = (player, args) -> {};
+
+	@Param({ "10", "100", "1000" })
+	public int commands;
+
+	private BenchmarkServer server;
+	private CommandAPICommand[] toRegister;
+
+	@Setup(Level.Iteration)
+	public void setUp(BenchmarkParams params) {
+		server = BenchmarkServer.start();
+		toRegister = new CommandAPICommand[commands];
+		for (int i = 0; i < commands; i++) {
+			toRegister[i] = createCommand("command" + i);
+		}
+
+		// Rebuilding needs the commands to already exist
+		if (params.getBenchmark().endsWith(".rebuild")) {
+			for (CommandAPICommand command : toRegister) {
+				command.register();
+			}
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		server.stop();
+	}
+
+	/**
+	 * A command with a few subcommands and arguments, so each registration
+	 * creates a handful of Brigadier nodes
+	 */
+	private static CommandAPICommand createCommand(String name) {
+		return new CommandAPICommand(name)
+			.withSubcommand(new CommandAPICommand("set")
+				.withArguments(new PlayerArgument("target"), new IntegerArgument("amount"))
+				.executesPlayer(EXECUTOR))
+			.withSubcommand(new CommandAPICommand("reset")
+				.withArguments(new PlayerArgument("target"))
+				.executesPlayer(EXECUTOR))
+			.withArguments(new LiteralArgument("info"), new StringArgument("key"))
+			.executesPlayer(EXECUTOR);
+	}
+
+	@Benchmark
+	public void register() {
+		for (CommandAPICommand command : toRegister) {
+			command.register();
+		}
+	}
+
+	/**
+	 * Unregisters and registers every command again. The mock platform can't
+	 * reload datapacks, so this measures the CommandAPI's side of rebuilding its
+	 * commands
+	 */
+	@Benchmark
+	public void rebuild() {
+		for (int i = 0; i < commands; i++) {
+			CommandAPI.unregister("command" + i);
+		}
+		for (CommandAPICommand command : toRegister) {
+			command.register();
+		}
+	}
+
+}
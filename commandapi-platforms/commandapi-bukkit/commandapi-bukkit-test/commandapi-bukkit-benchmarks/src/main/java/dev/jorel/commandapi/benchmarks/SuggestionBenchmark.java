@@ -0,0 +1,124 @@
+package dev.jorel.commandapi.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.ListArgumentBuilder;
+import dev.jorel.commandapi.arguments.MapArgumentBuilder;
+import dev.jorel.commandapi.arguments.StringArgument;
+import dev.jorel.commandapi.executors.PlayerCommandExecutor;
+
+/**
+ * Measures how long it takes to get suggestions for commands. Suggestions are
+ * requested through Brigadier, so this includes the suggestion providers that
+ * the CommandAPI creates for each argument, which parse the previous arguments
+ * of the command before calling the argument's own suggestions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionBenchmark {
+
+	private static final PlayerCommandExecutor EXECUTOR = (player, args) -> {};
+
+	private BenchmarkServer server;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		server = BenchmarkServer.start();
+		server.server.addSimpleWorld("world");
+		server.server.addSimpleWorld("world_nether");
+		server.server.addSimpleWorld("world_the_end");
+
+		String[] staticSuggestions = IntStream.range(0, 1000).mapToObj(i -> "item" + i).toArray(String[]::new);
+
+		new CommandAPICommand("static")
+			.withArguments(new StringArgument("item").replaceSuggestions(ArgumentSuggestions.strings(staticSuggestions)))
+			.executesPlayer(EXECUTOR)
+			.register();
+
+		new CommandAPICommand("dynamic")
+			.withArguments(new StringArgument("world").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				Bukkit.getWorlds().stream().map(World::getName).toArray(String[]::new))))
+			.executesPlayer(EXECUTOR)
+			.register();
+
+		new CommandAPICommand("previous")
+			.withArguments(new IntegerArgument("first"), new IntegerArgument("second"))
+			.withArguments(new StringArgument("sum").replaceSuggestions(ArgumentSuggestions.strings(info ->
+				new String[] { String.valueOf((int) info.previousArgs().get("first") + (int) info.previousArgs().get("second")) })))
+			.executesPlayer(EXECUTOR)
+			.register();
+
+		new CommandAPICommand("list")
+			.withArguments(new ListArgumentBuilder<String>("list")
+				.withList(List.of("cat", "wolf", "axolotl", "parrot", "fox", "bee", "goat", "frog"))
+				.withStringMapper()
+				.buildGreedy())
+			.executesPlayer(EXECUTOR)
+			.register();
+
+		new CommandAPICommand("map")
+			.withArguments(new MapArgumentBuilder<String, String>("map")
+				.withKeyMapper(s -> s)
+				.withValueMapper(s -> s)
+				.withKeyList(List.of("name", "colour", "size", "speed"))
+				.withValueList(List.of("red", "green", "blue", "small", "large"), true)
+				.build())
+			.executesPlayer(EXECUTOR)
+			.register();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		server.stop();
+	}
+
+	@Benchmark
+	public List<String> staticStrings() {
+		return server.server.getSuggestions(server.player, "static item5");
+	}
+
+	@Benchmark
+	public List<String> dynamicStrings() {
+		return server.server.getSuggestions(server.player, "dynamic world_");
+	}
+
+	@Benchmark
+	public List<String> previousArguments() {
+		return server.server.getSuggestions(server.player, "previous 10 20 ");
+	}
+
+	@Benchmark
+	public List<String> listArgument() {
+		return server.server.getSuggestions(server.player, "list cat fox ");
+	}
+
+	@Benchmark
+	public List<String> mapArgument() {
+		return server.server.getSuggestions(server.player, "map name:red size:");
+	}
+
+}
@@ -2,8 +2,12 @@ package dev.jorel.commandapi.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +16,9 @@ import org.junit.jupiter.api.Test;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.StringTooltip;
 import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CachedArgumentSuggestions;
+import dev.jorel.commandapi.arguments.CustomArgument;
+import dev.jorel.commandapi.arguments.CustomArgument.CustomArgumentException;
 import dev.jorel.commandapi.arguments.MathOperationArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
 
@@ -63,6 +70,47 @@ public class ArgumentSuggestionTests extends TestBase {
 		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "test "));
 	}
 	
+	@Test
+	void testReplaceSuggestionsConstantsPrefix() {
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg").replaceSuggestions(ArgumentSuggestions.strings("Cat", "catnip", "apple", "Caterpillar", "wolf")))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// Suggestions start with what has been typed, ignoring case
+		assertEquals(List.of("apple", "Cat", "Caterpillar", "catnip", "wolf"), server.getSuggestions(player, "test "));
+		assertEquals(List.of("Cat", "Caterpillar", "catnip"), server.getSuggestions(player, "test CA"));
+		assertEquals(List.of("catnip"), server.getSuggestions(player, "test catn"));
+		assertEquals(List.of("wolf"), server.getSuggestions(player, "test wolf"));
+		assertEquals(List.of(), server.getSuggestions(player, "test x"));
+		assertEquals(List.of(), server.getSuggestions(player, "test wolfs"));
+	}
+
+	@Test
+	void testReplaceSuggestionsCollectionChanges() {
+		List<String> live = new ArrayList<>(List.of("cat", "wolf"));
+		List<String> indexed = new ArrayList<>(List.of("cat", "wolf"));
+
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("live").replaceSuggestions(ArgumentSuggestions.strings(live)))
+			.withArguments(new StringArgument("indexed").replaceSuggestions(ArgumentSuggestions.indexedStrings(indexed)))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		live.add("axolotl");
+		indexed.add("axolotl");
+
+		// Changes to the collection are only suggested if it isn't indexed
+		assertEquals(List.of("axolotl", "cat", "wolf"), server.getSuggestions(player, "test "));
+		assertEquals(List.of("cat", "wolf"), server.getSuggestions(player, "test cat "));
+	}
+
 	@Test
 	void testIncludeSuggestionsConstants() {
 		// Our test has to involve an argument which already has some suggestions, so we'll
@@ -80,6 +128,125 @@ public class ArgumentSuggestionTests extends TestBase {
 		assertEquals(List.of("%=", "*=", "+=", "-=", "/=", "<", "=", ">", "><", "^^"), server.getSuggestions(player, "test "));
 	}
 	
+	@Test
+	void testCachedSuggestions() {
+		Mut<String> results = Mut.of();
+		CachedArgumentSuggestions<CommandSender> suggestions = ArgumentSuggestions.cached(
+			ArgumentSuggestions.strings(info -> {
+				results.set(info.currentArg());
+				return new String[] { "cat", "apple", "wolf" };
+			}),
+			Duration.ofMinutes(1), 10
+		);
+
+		new CommandAPICommand("test")
+			.withAliases("alias")
+			.withArguments(new StringArgument("arg").replaceSuggestions(suggestions))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// The first request calculates the suggestions
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "test "));
+		assertEquals("", results.get());
+		assertEquals(0, suggestions.getHits());
+		assertEquals(1, suggestions.getMisses());
+
+		// The same request is cached
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "test "));
+		assertNoMoreResults(results);
+		assertEquals(1, suggestions.getHits());
+		assertEquals(1, suggestions.getMisses());
+
+		// Different input is calculated again
+		assertEquals(List.of("cat"), server.getSuggestions(player, "test c"));
+		assertEquals("c", results.get());
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "alias "));
+		assertEquals("", results.get());
+		assertEquals(1, suggestions.getHits());
+		assertEquals(3, suggestions.getMisses());
+
+		// Invalidating the cache calculates the suggestions again
+		suggestions.invalidateAll();
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "test "));
+		assertEquals("", results.get());
+		assertEquals(4, suggestions.getMisses());
+	}
+
+	@Test
+	void testCachedSuggestionsCustomKey() {
+		Mut<String> results = Mut.of();
+		CachedArgumentSuggestions<CommandSender> suggestions = ArgumentSuggestions.cached(
+			ArgumentSuggestions.strings(info -> {
+				results.set(info.currentArg());
+				return new String[] { "cat", "apple", "wolf" };
+			}),
+			info -> info.sender(),
+			Duration.ofMinutes(1), 10
+		);
+
+		new CommandAPICommand("test")
+			.withAliases("longeralias")
+			.withArguments(new StringArgument("arg").replaceSuggestions(suggestions))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// Suggestions are cached for the sender, and moved to wherever the
+		// argument is in the input
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "test "));
+		assertEquals("", results.get());
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "longeralias "));
+		assertNoMoreResults(results);
+		assertEquals(1, suggestions.getHits());
+		assertEquals(1, suggestions.getMisses());
+	}
+
+	@Test
+	void testPreviousArgumentsAreParsedWhenRead() {
+		Mut<String> results = Mut.of();
+		AtomicInteger parses = new AtomicInteger();
+
+		new CommandAPICommand("test")
+			.withArguments(new CustomArgument<>(new StringArgument("name"), info -> {
+				parses.incrementAndGet();
+				if (info.input().equals("bad")) {
+					throw CustomArgumentException.fromString("Bad name");
+				}
+				return info.input();
+			}))
+			.withArguments(new StringArgument("unread").replaceSuggestions(ArgumentSuggestions.strings("cat", "wolf")))
+			.withArguments(new StringArgument("read").replaceSuggestions(ArgumentSuggestions.strings(info -> {
+				results.set((String) info.previousArgs().get("name"));
+				// The parsed value is remembered
+				info.previousArgs().get("name");
+				return new String[] { "apple" };
+			})))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// The custom argument isn't parsed unless the suggestions read it
+		assertEquals(List.of("cat", "wolf"), server.getSuggestions(player, "test name "));
+		assertEquals(0, parses.get());
+
+		assertEquals(List.of("apple"), server.getSuggestions(player, "test name cat "));
+		assertEquals("name", results.get());
+		assertEquals(1, parses.get());
+
+		// Arguments that can't be parsed are null
+		assertEquals(List.of("apple"), server.getSuggestions(player, "test bad cat "));
+		assertEquals(null, results.get());
+
+		assertNoMoreResults(results);
+	}
+
 	/**********************************
 	 * Suggestion tests with tooltips *
 	 **********************************/
@@ -0,0 +1,129 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.suggestion.Suggestions;
+
+import dev.jorel.commandapi.Brigadier;
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.ArgumentSuggestions;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for calculating suggestions on background threads
+ */
+public class AsyncSuggestionTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp(config -> config
+			.asyncSuggestions(true)
+			.asyncSuggestionThreads(2)
+			.asyncSuggestionTimeout(500));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<Suggestions> requestSuggestions(Player player, String commandLine) {
+		CommandDispatcher<Object> dispatcher = Brigadier.getCommandDispatcher();
+		return dispatcher.getCompletionSuggestions(dispatcher.parse(commandLine, Brigadier.getBrigadierSourceFromCommandSender(player)));
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testAsyncSuggestionsRunOffThread() {
+		Mut<Thread> results = Mut.of();
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg").replaceSuggestions(ArgumentSuggestions.strings(info -> {
+				results.set(Thread.currentThread());
+				return new String[] { "cat", "apple", "wolf" };
+			})))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		assertEquals(List.of("apple", "cat", "wolf"), server.getSuggestions(player, "test "));
+		assertNotEquals(Thread.currentThread(), results.get());
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testAsyncSuggestionsTimeout() {
+		CountDownLatch latch = new CountDownLatch(1);
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg").replaceSuggestions(ArgumentSuggestions.strings(info -> {
+				try {
+					latch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return new String[] { "cat", "apple", "wolf" };
+			})))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// Suggestions that take too long are replaced with no suggestions
+		assertEquals(List.of(), server.getSuggestions(player, "test "));
+		latch.countDown();
+	}
+
+	@Test
+	void testAsyncSuggestionsLatestWins() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("arg").replaceSuggestions(ArgumentSuggestions.strings(info -> {
+				if (info.currentArg().isEmpty()) {
+					try {
+						latch.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				return new String[] { "cat", "apple", "wolf" };
+			})))
+			.executes((sender, args) -> {
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// The first request is still being calculated when the player types again
+		CompletableFuture<Suggestions> first = requestSuggestions(player, "test ");
+		CompletableFuture<Suggestions> second = requestSuggestions(player, "test c");
+
+		// Only the latest request gets suggestions. The first request still
+		// completes, so anything waiting for it isn't stuck
+		assertEquals("cat", second.get(1, TimeUnit.SECONDS).getList().get(0).getText());
+		assertEquals(List.of(), first.get(1, TimeUnit.SECONDS).getList());
+		latch.countDown();
+	}
+
+}
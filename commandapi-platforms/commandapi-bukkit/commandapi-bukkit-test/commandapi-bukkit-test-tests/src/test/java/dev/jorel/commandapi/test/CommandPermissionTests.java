@@ -1,12 +1,19 @@
 package dev.jorel.commandapi.test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.mojang.brigadier.CommandDispatcher;
+
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import dev.jorel.commandapi.Brigadier;
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPICommand;
 import dev.jorel.commandapi.arguments.StringArgument;
 
@@ -109,6 +116,46 @@ class CommandPermissionTests extends TestBase {
 		assertNoMoreResults(results2);
 	}
 	
+	@Test
+	void permissionsAreCheckedOncePerSource() {
+		for (String name : new String[] { "test1", "test2", "test3" }) {
+			new CommandAPICommand(name)
+				.withPermission("permission.node")
+				.executesPlayer((player, args) -> {
+				})
+				.register();
+		}
+
+		AtomicInteger checks = new AtomicInteger();
+		PlayerMock player = new PlayerMock(server, "APlayer") {
+			@Override
+			public boolean hasPermission(String name) {
+				if (name.equals("permission.node")) {
+					checks.incrementAndGet();
+				}
+				return super.hasPermission(name);
+			}
+		};
+		server.addPlayer(player);
+		player.addAttachment(super.plugin, "permission.node", true);
+
+		@SuppressWarnings("unchecked")
+		CommandDispatcher<Object> dispatcher = Brigadier.getCommandDispatcher();
+		Object source = Brigadier.getBrigadierSourceFromCommandSender(player);
+
+		// Like sending the command tree, every node is checked with the same source
+		assertTrue(dispatcher.getRoot().getChild("test1").canUse(source));
+		assertTrue(dispatcher.getRoot().getChild("test2").canUse(source));
+		assertTrue(dispatcher.getRoot().getChild("test3").canUse(source));
+		assertEquals(1, checks.get());
+
+		// Updating requirements checks permissions again
+		CommandAPI.updateRequirements(player);
+		checks.set(0);
+		assertTrue(dispatcher.getRoot().getChild("test1").canUse(source));
+		assertEquals(1, checks.get());
+	}
+
 	// Todo: Command trees, subcommands, literal arguments, multiple arguments on the same level etc.
 	// Possibly also to-do: check suggestions only show for what you have permission to see?
 
@@ -1,17 +1,25 @@
 package dev.jorel.commandapi.test;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.CommandTree;
 import dev.jorel.commandapi.arguments.GreedyStringArgument;
+import dev.jorel.commandapi.arguments.IntegerArgument;
+import dev.jorel.commandapi.arguments.MultiLiteralArgument;
 import dev.jorel.commandapi.arguments.StringArgument;
 import dev.jorel.commandapi.exceptions.GreedyArgumentException;
 import dev.jorel.commandapi.exceptions.InvalidCommandNameException;
@@ -105,4 +113,67 @@ class CommandTests extends TestBase {
 		});
 	}
 
+	@Test
+	void testCommandConflict() {
+		// Different node names don't conflict
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("a"), new StringArgument("b"))
+			.executes((sender, args) -> {})
+			.register();
+		new CommandAPICommand("test")
+			.withArguments(new IntegerArgument("c"))
+			.executes((sender, args) -> {})
+			.register();
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+
+		// The same node name with a different type conflicts, and isn't registered
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("a"), new IntegerArgument("b"))
+			.executes((sender, args) -> {})
+			.register();
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+
+		// This also applies to commands that weren't the first to be registered
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("c"))
+			.executes((sender, args) -> {})
+			.register();
+		assertEquals(2, CommandAPI.getRegisteredCommands().size());
+
+		// The same node name and type doesn't conflict
+		new CommandAPICommand("test")
+			.withArguments(new StringArgument("a"), new StringArgument("b"), new StringArgument("d"))
+			.executes((sender, args) -> {})
+			.register();
+		assertEquals(3, CommandAPI.getRegisteredCommands().size());
+	}
+
+	@Test
+	void testCommandTreeSharedNodes() {
+		Mut<String> results = Mut.of();
+		PlayerMock player = server.addPlayer();
+
+		new CommandTree("test")
+			.withAliases("alias")
+			.then(new MultiLiteralArgument("mode", List.of("a", "b"))
+				.then(new StringArgument("value")
+					.executesPlayer((sender, args) -> {
+						results.set(args.get("mode") + " " + args.get("value"));
+					})
+					.then(new IntegerArgument("amount")
+						.executesPlayer((sender, args) -> {
+							results.set(args.get("mode") + " " + args.get("value") + " " + args.get("amount"));
+						}))))
+			.register();
+
+		// Every expanded path is still tracked on its own
+		assertEquals(4, CommandAPI.getRegisteredCommands().size());
+
+		assertStoresResult(player, "test a hello", results, "a hello");
+		assertStoresResult(player, "test b hello 5", results, "b hello 5");
+		assertStoresResult(player, "alias a world 10", results, "a world 10");
+
+		assertNoMoreResults(results);
+	}
+
 }
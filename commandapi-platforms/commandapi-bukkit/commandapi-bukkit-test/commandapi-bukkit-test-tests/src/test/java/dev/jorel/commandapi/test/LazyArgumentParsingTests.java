@@ -0,0 +1,109 @@
+package dev.jorel.commandapi.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.jorel.commandapi.CommandAPICommand;
+import dev.jorel.commandapi.arguments.CustomArgument;
+import dev.jorel.commandapi.arguments.ListArgumentBuilder;
+import dev.jorel.commandapi.arguments.StringArgument;
+
+/**
+ * Tests for only parsing arguments when an executor reads them
+ */
+@SuppressWarnings("unchecked")
+public class LazyArgumentParsingTests extends TestBase {
+
+	/*********
+	 * Setup *
+	 *********/
+
+	@BeforeEach
+	public void setUp() {
+		super.setUp(config -> config.lazyArgumentParsing(true));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/*********
+	 * Tests *
+	 *********/
+
+	@Test
+	void testArgumentsAreParsedWhenRead() {
+		Mut<List<String>> results = Mut.of();
+		AtomicInteger parses = new AtomicInteger();
+
+		new CommandAPICommand("lazy")
+			.withArguments(new StringArgument("name"))
+			.withArguments(new ListArgumentBuilder<String>("values", ", ")
+				.withList(() -> {
+					parses.incrementAndGet();
+					return List.of("cat", "wolf", "axolotl");
+				})
+				.withStringMapper()
+				.buildGreedy())
+			.executesPlayer((player, args) -> {
+				if (args.get("name").equals("read")) {
+					List<String> values = (List<String>) args.get("values");
+					// The parsed value is remembered
+					assertEquals(values, args.get(1));
+					results.set(values);
+				}
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		// The list is never parsed if the executor doesn't read it, even if it is invalid
+		server.dispatchCommand(player, "lazy skip cat, wolf");
+		server.dispatchCommand(player, "lazy skip wolf, chicken");
+		assertEquals(0, parses.get());
+
+		server.dispatchCommand(player, "lazy read cat, wolf");
+		assertEquals(List.of("cat", "wolf"), results.get());
+		assertEquals(1, parses.get());
+
+		// Errors are reported the same way as if the argument was parsed before the executor ran
+		assertCommandFailsWith(player, "lazy read wolf, chicken", "Item is not allowed in list at position 6: wolf, <--[HERE]");
+
+		assertNoMoreResults(results);
+	}
+
+	@Test
+	void testArgumentsBeforeCustomArgumentsAreParsedFirst() {
+		Mut<String> results = Mut.of();
+
+		new CommandAPICommand("lazy")
+			.withArguments(new ListArgumentBuilder<String>("values", ", ")
+				.withList(List.of("cat", "wolf", "axolotl"))
+				.withStringMapper()
+				.buildText())
+			.withArguments(new CustomArgument<>(new StringArgument("name"), info -> info.input()))
+			.executesPlayer((player, args) -> {
+				results.set((String) args.get("name"));
+			})
+			.register();
+
+		Player player = server.addPlayer("APlayer");
+
+		server.dispatchCommand(player, "lazy \"cat, wolf\" name");
+		assertEquals("name", results.get());
+
+		// The list comes before a custom argument, so it is still checked even though it isn't read
+		assertCommandFailsWith(player, "lazy \"wolf, chicken\" name", "Item is not allowed in list at position 6: wolf, <--[HERE]");
+
+		assertNoMoreResults(results);
+	}
+
+}
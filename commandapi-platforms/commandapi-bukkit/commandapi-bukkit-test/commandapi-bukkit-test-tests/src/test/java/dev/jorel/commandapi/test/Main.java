@@ -1,6 +1,7 @@
 package dev.jorel.commandapi.test;
 import java.io.File;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -15,6 +16,7 @@ public class Main extends JavaPlugin {
 	
 	public static Class nbtContainerClass = null;
 	public static Function nbtContainerConstructor = null;
+	public static UnaryOperator<CommandAPIBukkitConfig> configure = null;
 	
 	@Override
 	public void onLoad() {
@@ -29,6 +31,10 @@ public class Main extends JavaPlugin {
 		if (nbtContainerClass != null && nbtContainerConstructor != null) {
 			config = config.initializeNBTAPI(nbtContainerClass, nbtContainerConstructor);
 		}
+
+		if (configure != null) {
+			config = configure.apply(config);
+		}
 		
 		CommandAPI.onLoad(config);
 	}
@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
@@ -34,6 +35,7 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.Suggestion;
 
 import be.seeseemelk.mockbukkit.MockBukkit;
+import dev.jorel.commandapi.CommandAPIBukkitConfig;
 import dev.jorel.commandapi.CommandAPIVersionHandler;
 import dev.jorel.commandapi.MCVersion;
 import dev.jorel.commandapi.PaperImplementations;
@@ -63,6 +65,15 @@ public abstract class TestBase {
 		setUp(Main.class);
 	}
 
+	public void setUp(UnaryOperator<CommandAPIBukkitConfig> configure) {
+		Main.configure = configure;
+		try {
+			setUp(Main.class);
+		} finally {
+			Main.configure = null;
+		}
+	}
+
 	public <T extends JavaPlugin> void setUp(Class<T> pluginClass) {
 		// resetAllPotions();
 		
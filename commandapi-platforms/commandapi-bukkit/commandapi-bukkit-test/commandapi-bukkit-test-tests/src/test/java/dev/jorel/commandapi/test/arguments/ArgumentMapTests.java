@@ -1454,6 +1454,46 @@ public class ArgumentMapTests extends TestBase {
 		assertNoSuggestions(player, "test 0:\"-10\" 1");
 	}
 
+	@Test
+	void suggestionTestReusesParsedResults() {
+		Mut<String> parsedKeys = Mut.of();
+
+		new CommandAPICommand("test")
+			.withArguments(
+				new MapArgumentBuilder<String, String>("map")
+					.withKeyMapper(s -> {
+						parsedKeys.set(s);
+						return s;
+					})
+					.withValueMapper(s -> s)
+					.withKeyList(List.of("alpha", "bear", "charlie"))
+					.withoutValueList()
+					.build()
+			)
+			.executesPlayer(P_EXEC)
+			.register();
+
+		PlayerMock player = server.addPlayer();
+
+		// /test alpha:1 bear:2 
+		// Every key is read the first time
+		assertCommandSuggests(player, "test alpha:1 bear:2 ", "charlie");
+		assertEquals("alpha", parsedKeys.get());
+		assertEquals("bear", parsedKeys.get());
+		assertNoMoreResults(parsedKeys);
+
+		// /test alpha:1 bear:2 c
+		// Keys that were already read are not read again
+		assertCommandSuggests(player, "test alpha:1 bear:2 c", "charlie");
+		assertNoMoreResults(parsedKeys);
+
+		// /test alpha:1 charlie:2 
+		// Keys after a change are read again, and the given keys are still not suggested
+		assertCommandSuggests(player, "test alpha:1 charlie:2 ", "bear");
+		assertEquals("charlie", parsedKeys.get());
+		assertNoMoreResults(parsedKeys);
+	}
+
 	@Test
 	void suggestionTestWithLists() {
 		new CommandAPICommand("test")
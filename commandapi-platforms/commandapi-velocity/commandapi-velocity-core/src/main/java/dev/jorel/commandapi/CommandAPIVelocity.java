@@ -1,7 +1,5 @@
 package dev.jorel.commandapi;
 
-import com.google.common.io.Files;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.mojang.brigadier.CommandDispatcher;
@@ -29,7 +27,6 @@ import org.apache.logging.log4j.LogManager;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 
@@ -39,6 +36,8 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 
 	private CommandManager commandManager;
 	private CommandDispatcher<CommandSource> dispatcher;
+	private final CommandSenderWrapperCache<CommandSource, VelocityCommandSender<? extends CommandSource>> senderWrappers =
+		new CommandSenderWrapperCache<>(this::createCommandSenderWrapper);
 
 	public CommandAPIVelocity() {
 		instance = this;
@@ -82,10 +81,14 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 
 	@Override
 	public void onEnable() {
+		// Velocity never stops command registration, so batched dispatcher file
+		// writes are flushed once the plugins that loaded the CommandAPI are ready
+		CommandAPIHandler.getInstance().dispatcherFileWriter.flush();
 	}
 
 	@Override
 	public void onDisable() {
+		senderWrappers.clear();
 	}
 
 	@Override
@@ -105,8 +108,7 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 
 	@Override
 	public void createDispatcherFile(File file, CommandDispatcher<CommandSource> brigadierDispatcher) throws IOException {
-		Files.asCharSink(file, StandardCharsets.UTF_8).write(new GsonBuilder().setPrettyPrinting().create()
-			.toJson(serializeNodeToJson(dispatcher, dispatcher.getRoot())));
+		DispatcherFileWriter.writeCommandTree(file, brigadierDispatcher, CommandAPIVelocity::serializeNodeToJson);
 	}
 
 	private static JsonObject serializeNodeToJson(CommandDispatcher<CommandSource> dispatcher, CommandNode<CommandSource> node) {
@@ -169,7 +171,12 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 	@Override
 	public VelocityCommandSender<? extends CommandSource> getCommandSenderFromCommandSource(CommandSource cs) {
 		// Given a Brigadier CommandContext source (result of CommandContext.getSource),
-		// we need to convert that to an AbstractCommandSender.
+		// we need to convert that to an AbstractCommandSender. Players and the console
+		// are the only sources, and they stay around, so their wrappers are reused
+		return senderWrappers.get(cs);
+	}
+
+	private VelocityCommandSender<? extends CommandSource> createCommandSenderWrapper(CommandSource cs) {
 		if(cs instanceof ConsoleCommandSource ccs)
 			return new VelocityConsoleCommandSender(ccs);
 		if(cs instanceof Player p)
@@ -182,6 +189,11 @@ public class CommandAPIVelocity implements CommandAPIPlatform<Argument<?>, Comma
 		return getCommandSenderFromCommandSource(commandSource);
 	}
 
+	@Override
+	public Object getSenderKey(CommandSource commandSource) {
+		return commandSource instanceof Player player ? player.getUniqueId() : commandSource;
+	}
+
 	@Override
 	public CommandSource getBrigadierSourceFromCommandSender(AbstractCommandSender<? extends CommandSource> sender) {
 		return sender.getSource();
@@ -14,6 +14,11 @@ public class VelocityPlayer implements AbstractPlayer<Player>, VelocityCommandSe
 		return this.player.hasPermission(permissionNode);
 	}
 	
+	@Override
+	public boolean isConnected() {
+		return this.player.isActive();
+	}
+
 	@Override
 	public boolean isOp() {
 		return false;
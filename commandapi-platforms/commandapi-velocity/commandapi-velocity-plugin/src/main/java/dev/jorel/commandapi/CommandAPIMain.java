@@ -58,7 +58,8 @@ public class CommandAPIMain {
 			.verboseOutput(configYAML.getNode("verbose-outputs").getBoolean())
 			.silentLogs(configYAML.getNode("silent-logs").getBoolean())
 			.missingExecutorImplementationMessage(configYAML.getNode("messages", "missing-executor-implementation").getString())
-			.dispatcherFile(configYAML.getNode("create-dispactcher-json").getBoolean() ? new File(dataDirectory.toFile(), "command_registration.json") : null);
+			.dispatcherFile(configYAML.getNode("create-dispactcher-json").getBoolean() ? new File(dataDirectory.toFile(), "command_registration.json") : null)
+			.batchDispatcherFileWrites(configYAML.getNode("batch-dispatcher-json").getBoolean());
 
 		CommandAPI.setLogger(CommandAPILogger.fromJavaLogger(logger));
 		CommandAPI.onLoad(config);